@@ -58,3 +58,11 @@ Create the name of the service account to use
 {{- default "default" .Values.serviceAccount.name }}
 {{- end }}
 {{- end }}
+
+{{/*
+Workload kind: a StatefulSet when write-behind status history needs a persistent journal per
+replica, a Deployment otherwise
+*/}}
+{{- define "user-service.workloadKind" -}}
+{{- if .Values.statusHistoryWriteBehind.enabled }}StatefulSet{{ else }}Deployment{{ end }}
+{{- end }}
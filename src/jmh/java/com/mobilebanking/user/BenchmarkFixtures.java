@@ -0,0 +1,108 @@
+package com.mobilebanking.user;
+
+import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.entity.KycStatus;
+import com.mobilebanking.user.entity.User;
+import com.mobilebanking.user.entity.UserProfile;
+import com.mobilebanking.user.entity.UserStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Realistically sized entities shared by the microbenchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 30).plusMinutes(i);
+        return User.builder()
+                .id(UUID.randomUUID())
+                .authId(UUID.randomUUID())
+                .email("customer" + i + "@example.com")
+                .firstName("Alexandra")
+                .lastName("Montgomery-" + i)
+                .phoneNumber("+1415555" + String.format("%04d", i % 10_000))
+                .dateOfBirth(LocalDate.of(1985, 6, 15))
+                .status(UserStatus.ACTIVE)
+                .kycStatus(KycStatus.VERIFIED)
+                .accountNumber(String.format("%012d", 10_000_000_000L + i))
+                .currency("USD")
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusDays(3))
+                .version(4L)
+                .build();
+    }
+
+    public static UserResponse userResponse(int i) {
+        User user = user(i);
+        return UserResponse.builder()
+                .id(user.getId())
+                .authId(user.getAuthId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .fullName(user.getFullName())
+                .phoneNumber(user.getPhoneNumber())
+                .dateOfBirth(user.getDateOfBirth())
+                .status(user.getStatus())
+                .kycStatus(user.getKycStatus())
+                .accountNumber(user.getAccountNumber())
+                .currency(user.getCurrency())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public static UserProfile profile(User user) {
+        return UserProfile.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .addressLine1("1200 Market Street")
+                .addressLine2("Suite 400")
+                .city("San Francisco")
+                .state("CA")
+                .postalCode("94102")
+                .country("US")
+                .nationalId("123-45-6789")
+                .occupation("Software Engineer")
+                .employer("Example Corp")
+                .bio("Long-time customer, prefers email contact.")
+                .preferredLanguage("en")
+                .timezone("America/Los_Angeles")
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    public static UserProfileResponse profileResponse(int i) {
+        UserProfile profile = profile(user(i));
+        return UserProfileResponse.builder()
+                .id(profile.getId())
+                .userId(profile.getUser().getId())
+                .addressLine1(profile.getAddressLine1())
+                .addressLine2(profile.getAddressLine2())
+                .city(profile.getCity())
+                .state(profile.getState())
+                .postalCode(profile.getPostalCode())
+                .country(profile.getCountry())
+                .nationalId(profile.getNationalId())
+                .occupation(profile.getOccupation())
+                .employer(profile.getEmployer())
+                .bio(profile.getBio())
+                .preferredLanguage(profile.getPreferredLanguage())
+                .timezone(profile.getTimezone())
+                .notificationsEnabled(profile.getNotificationsEnabled())
+                .marketingEnabled(profile.getMarketingEnabled())
+                .createdAt(profile.getCreatedAt())
+                .updatedAt(profile.getUpdatedAt())
+                .version(2L)
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.mobilebanking.user.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mobilebanking.user.BenchmarkFixtures;
+import com.mobilebanking.user.cache.UserJsonCache;
+import com.mobilebanking.user.dto.ApiResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Writing the single-user response of {@code GET /api/v1/users/{id}} and {@code /auth/{authId}}
+ * (a cached {@link UserResponse} wrapped by {@code ApiResponse.success}) through the Jackson
+ * converter versus the {@link UserJsonCache}-backed converter. Requests cycle over {@code users}
+ * distinct users, all of which fit in the cache. Run with {@code -prof gc} (the profile default)
+ * to compare bytes allocated per response:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="UserJsonConverterBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UserJsonConverterBenchmark {
+
+    @Param({"1", "10000"})
+    public int users;
+
+    private MappingJackson2HttpMessageConverter jackson;
+    private UserJsonHttpMessageConverter cached;
+    private UserResponse[] responses;
+    private int next;
+    private final Sink sink = new Sink();
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        cached = new UserJsonHttpMessageConverter(jackson,
+                new UserJsonCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(64), Duration.ofMinutes(30)));
+        responses = IntStream.range(0, users)
+                .mapToObj(BenchmarkFixtures::userResponse)
+                .toArray(UserResponse[]::new);
+        for (UserResponse response : responses) {
+            cached.write(ApiResponse.success(response), MediaType.APPLICATION_JSON, sink.reset());
+        }
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        jackson.write(ApiResponse.success(nextUser()), MediaType.APPLICATION_JSON, sink.reset());
+        return sink.body.size();
+    }
+
+    @Benchmark
+    public int cachedJson() throws IOException {
+        cached.write(ApiResponse.success(nextUser()), MediaType.APPLICATION_JSON, sink.reset());
+        return sink.body.size();
+    }
+
+    private UserResponse nextUser() {
+        UserResponse user = responses[next];
+        next = next + 1 == responses.length ? 0 : next + 1;
+        return user;
+    }
+
+    /** Reused in-memory response so that both paths pay the same, minimal, sink overhead. */
+    private static final class Sink implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        Sink reset() {
+            body.reset();
+            headers.clear();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mobilebanking.user.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserController#getClientIp} for the header shapes seen behind the gateway. The mock
+ * request's own header lookup is part of the measured time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientIpBenchmark {
+
+    @Param({"FORWARDED_CHAIN", "FORWARDED_SINGLE", "REAL_IP", "REMOTE_ADDR"})
+    public String headers;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("PUT", "/api/v1/users/00000000-0000-0000-0000-000000000001/status");
+        request.setRemoteAddr("10.0.3.17");
+        switch (headers) {
+            case "FORWARDED_CHAIN" -> request.addHeader("X-Forwarded-For", "203.0.113.195, 70.41.3.18, 150.172.238.178");
+            case "FORWARDED_SINGLE" -> request.addHeader("X-Forwarded-For", "203.0.113.195");
+            case "REAL_IP" -> request.addHeader("X-Real-IP", "203.0.113.195");
+            default -> {
+            }
+        }
+    }
+
+    @Benchmark
+    public String getClientIp() {
+        return UserController.getClientIp(request);
+    }
+}
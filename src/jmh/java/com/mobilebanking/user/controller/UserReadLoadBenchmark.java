@@ -0,0 +1,139 @@
+package com.mobilebanking.user.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop read load against a running instance, used to compare execution modes
+ * (platform thread pool, virtual threads, reactive read server) on the same hardware. Start
+ * the service in the mode under test, then run for example:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="UserReadLoadBenchmark -t 200 -p baseUrl=http://localhost:8082"
+ * </pre>
+ * Sample-time mode reports p50/p90/p99/p99.9 per endpoint; throughput is the sample count
+ * divided by the measurement time. Lookups by id and auth ID are mostly served from the
+ * user cache after warmup; {@code getUsersPage} always goes to the database and has no
+ * reactive equivalent.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@Threads(200)
+@State(Scope.Benchmark)
+public class UserReadLoadBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"http://localhost:8082"})
+    public String baseUrl;
+
+    /** Where reads are sent; the reactive read server listens on 8083 when enabled. Seeding always uses {@code baseUrl}. */
+    @Param({"http://localhost:8082"})
+    public String readBaseUrl;
+
+    @Param({"5000"})
+    public int users;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient client;
+    private List<String> ids;
+    private List<String> authIds;
+
+    @Setup(Level.Trial)
+    public void seed() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ids = new ArrayList<>(users);
+        authIds = new ArrayList<>(users);
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int offset = 0; offset < users; offset += SEED_BATCH_SIZE) {
+            ArrayNode batch = objectMapper.createArrayNode();
+            for (int i = offset; i < Math.min(users, offset + SEED_BATCH_SIZE); i++) {
+                ObjectNode user = batch.addObject();
+                user.put("authId", UUID.randomUUID().toString());
+                user.put("email", "load-" + run + "-" + i + "@example.com");
+                user.put("firstName", "Load");
+                user.put("lastName", "User" + i);
+            }
+            ObjectNode body = objectMapper.createObjectNode();
+            body.set("users", batch);
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.path("success").asBoolean()) {
+                    ids.add(result.path("user").path("id").asText());
+                    authIds.add(result.path("user").path("authId").asText());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No users were seeded");
+        }
+    }
+
+    @Benchmark
+    public int getUserByAuthId() throws IOException, InterruptedException {
+        return get("/api/v1/users/auth/" + pick(authIds));
+    }
+
+    @Benchmark
+    public int getUserById() throws IOException, InterruptedException {
+        return get("/api/v1/users/" + pick(ids));
+    }
+
+    @Benchmark
+    public int getUsersPage() throws IOException, InterruptedException {
+        return get("/api/v1/users?page=" + ThreadLocalRandom.current().nextInt(10) + "&size=20");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(readBaseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 500) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + path);
+        }
+        return response.statusCode();
+    }
+
+    private static String pick(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.mobilebanking.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.mobilebanking.user.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode and decode cost of the JSON, CBOR and Smile encodings offered by content negotiation,
+ * for a user, a profile and a 20-user page, with mappers configured as in {@code application.yml}.
+ * Users and profiles decode into their response types, as a Jackson-based caller would; pages
+ * decode into a tree since {@code Page} has no deserializer. Encoded sizes are printed at setup:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="WireFormatBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"user", "profile", "page"})
+    public String payload;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<?> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        JavaType type;
+        switch (payload) {
+            case "user" -> {
+                response = ApiResponse.success(BenchmarkFixtures.userResponse(1));
+                type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, UserResponse.class);
+            }
+            case "profile" -> {
+                response = ApiResponse.success(BenchmarkFixtures.profileResponse(1));
+                type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, UserProfileResponse.class);
+            }
+            case "page" -> {
+                List<UserResponse> users = IntStream.range(0, 20)
+                        .mapToObj(BenchmarkFixtures::userResponse)
+                        .toList();
+                response = ApiResponse.success(new PageImpl<>(users,
+                        PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "createdAt")), 25_000));
+                type = objectMapper.getTypeFactory().constructType(JsonNode.class);
+            }
+            default -> throw new IllegalArgumentException("Unknown payload " + payload);
+        }
+        writer = objectMapper.writer();
+        reader = objectMapper.readerFor(type);
+        encoded = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s %s: %d bytes%n", format, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mobilebanking.user.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Allocation throughput of {@link AccountNumberAllocator} with and without contention.
+ * The sequence round trip is simulated by parking for {@code roundTripNanos} per block.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountNumberAllocatorBenchmark {
+
+    @Param({"100", "1000"})
+    public int blockSize;
+
+    @Param({"0", "500000"})
+    public long roundTripNanos;
+
+    private AccountNumberAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong(10_000_000_000L);
+        allocator = new AccountNumberAllocator(() -> {
+            if (roundTripNanos > 0) {
+                LockSupport.parkNanos(roundTripNanos);
+            }
+            return AccountNumberAllocator.Block.of(sequence.getAndAdd(blockSize), blockSize);
+        });
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String allocateUncontended() {
+        return allocator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String allocateContended() {
+        return allocator.next();
+    }
+
+    /** The previous implementation: ten random digits from a fresh {@link Random} per call. */
+    @Benchmark
+    @Threads(8)
+    public String legacyRandomContended() {
+        Random random = new Random();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            sb.append(random.nextInt(10));
+        }
+        return sb.toString();
+    }
+}
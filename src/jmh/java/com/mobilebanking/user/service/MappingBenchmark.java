@@ -0,0 +1,65 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.BenchmarkFixtures;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.entity.User;
+import com.mobilebanking.user.entity.UserProfile;
+import com.mobilebanking.user.entity.UserStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and status transition checks. Run with {@code -prof gc} (the profile
+ * default) to see bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappingBenchmark {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private User user;
+    private UserProfile profile;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(42);
+        profile = BenchmarkFixtures.profile(user);
+    }
+
+    @Benchmark
+    public UserResponse userMapToResponse() {
+        return UserService.mapToResponse(user);
+    }
+
+    @Benchmark
+    public UserProfileResponse profileMapToResponse() {
+        return UserProfileService.mapToResponse(profile);
+    }
+
+    /** All 25 from/to combinations per invocation. */
+    @Benchmark
+    public void isValidStatusTransition(Blackhole blackhole) {
+        for (UserStatus from : STATUSES) {
+            for (UserStatus to : STATUSES) {
+                blackhole.consume(UserService.isValidStatusTransition(from, to));
+            }
+        }
+    }
+}
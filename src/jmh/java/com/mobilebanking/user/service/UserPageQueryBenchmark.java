@@ -0,0 +1,133 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.UserServiceApplication;
+import com.mobilebanking.user.dto.CreateUserRequest;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only user pages built from managed entities (the previous implementation, kept here as
+ * the baseline) versus the constructor-expression projection used by {@link UserService}.
+ * Starts PostgreSQL in a container unless {@code jdbcUrl} is given. Run with {@code -prof gc}
+ * (the profile default) to compare bytes allocated per page:
+ * <pre>
+ * ./mvnw -P benchmark test-compile exec:exec -Djmh.args="UserPageQueryBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserPageQueryBenchmark {
+
+    private static final int SEED_USERS = 2000;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    @Param({""})
+    public String jdbcUrl;
+
+    @Param({"user_user"})
+    public String dbUser;
+
+    @Param({""})
+    public String dbPassword;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private TransactionTemplate readOnly;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void start() {
+        String url = jdbcUrl;
+        String username = dbUser;
+        String password = dbPassword;
+        if (url.isEmpty()) {
+            postgres = new PostgreSQLContainer<>("postgres:14").withDatabaseName("user_db");
+            postgres.start();
+            url = postgres.getJdbcUrl();
+            username = postgres.getUsername();
+            password = postgres.getPassword();
+        }
+        context = new SpringApplicationBuilder(UserServiceApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--app.suggest.enabled=false",
+                "--logging.level.root=WARN");
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        page = PageRequest.of(0, pageSize, Sort.by("createdAt", "id"));
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int offset = 0; offset < SEED_USERS; offset += SEED_BATCH_SIZE) {
+            List<CreateUserRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = offset; i < offset + SEED_BATCH_SIZE; i++) {
+                batch.add(CreateUserRequest.builder()
+                        .authId(UUID.randomUUID())
+                        .email("page-" + run + "-" + i + "@benchmark.example")
+                        .firstName("Alexandra")
+                        .lastName("Montgomery-" + i)
+                        .build());
+            }
+            userService.createUsers(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public Page<UserResponse> entityPage() {
+        return readOnly.execute(status -> userRepository.findAll(page).map(UserService::mapToResponse));
+    }
+
+    @Benchmark
+    public Page<UserResponse> projectionPage() {
+        return userService.getAllUsers(page);
+    }
+}
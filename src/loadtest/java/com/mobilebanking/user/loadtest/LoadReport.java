@@ -0,0 +1,102 @@
+package com.mobilebanking.user.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counts. Writes a fixed-width
+ * summary meant to be committed or diffed between runs, plus one HdrHistogram percentile
+ * distribution ({@code .hgrm}) per operation for plotting.
+ */
+class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadReport(Iterable<Operation> operations) {
+        for (Operation operation : operations) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(operation).recordValue(micros);
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /** Drops everything recorded so far, i.e. the warmup. */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    void write(LoadTestOptions options, String target, Duration elapsed) throws IOException {
+        Path output = options.output().toAbsolutePath();
+        Files.createDirectories(output.getParent());
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        histograms.values().forEach(total::add);
+
+        double seconds = elapsed.toNanos() / 1e9;
+        try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, "UTF-8")) {
+            out.printf("# user-service load test against %s%n", target);
+            out.printf("# users=%d concurrency=%d rate=%s warmup=%s duration=%s%n", options.users(), options.concurrency(),
+                    options.rate() > 0 ? String.valueOf((long) options.rate()) : "closed-loop",
+                    options.warmup(), options.duration());
+            out.printf("# mix=%s%n", options.describeMix());
+            out.printf("# latency in milliseconds%n");
+            out.printf("%-18s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                    "operation", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+            long totalErrors = 0;
+            for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+                long operationErrors = errors.get(entry.getKey()).sum();
+                totalErrors += operationErrors;
+                writeRow(out, entry.getKey().label(), entry.getValue(), operationErrors, seconds);
+            }
+            writeRow(out, "TOTAL", total, totalErrors, seconds);
+        }
+
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Path distribution = output.resolveSibling(entry.getKey().label() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution), false, "UTF-8")) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void writeRow(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf(Locale.ROOT, "%-18s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
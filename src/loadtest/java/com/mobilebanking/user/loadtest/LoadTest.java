@@ -0,0 +1,237 @@
+package com.mobilebanking.user.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.user.UserServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load generator. Seeds users (with a profile and one status change each), then
+ * drives a weighted mix of requests from a fixed number of workers and writes per-operation
+ * latency percentiles and throughput via {@link LoadReport}.
+ * <p>
+ * Without {@code --rate} every worker sends its next request as soon as the previous one
+ * returns (closed loop). With {@code --rate} requests are scheduled at fixed intervals and
+ * latency is measured from the scheduled start, so a stalled server shows up in the
+ * percentiles instead of silently lowering the request rate.
+ */
+public final class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int SEED_CONCURRENCY = 32;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PostgreSQLContainer<?> postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = options.baseUrl();
+            if (baseUrl == null) {
+                String jdbcUrl = options.jdbcUrl();
+                String username = options.dbUser();
+                String password = options.dbPassword();
+                if (jdbcUrl == null) {
+                    postgres = new PostgreSQLContainer<>("postgres:14").withDatabaseName("user_db");
+                    postgres.start();
+                    jdbcUrl = postgres.getJdbcUrl();
+                    username = postgres.getUsername();
+                    password = postgres.getPassword();
+                }
+                application = new SpringApplicationBuilder(UserServiceApplication.class).run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--logging.level.com.mobilebanking.user=WARN");
+                baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            }
+
+            new LoadTest(options).run(baseUrl);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    private void run(String baseUrl) throws Exception {
+        log("Seeding %d users against %s", options.users(), baseUrl);
+        List<SeededUser> users = seed(baseUrl);
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No users were seeded");
+        }
+
+        Operation[] schedule = schedule(options.mix());
+        LoadReport report = new LoadReport(options.mix().keySet());
+        long warmupNanos = options.warmup().toNanos();
+        long endNanos = System.nanoTime() + warmupNanos + options.duration().toNanos();
+        long intervalNanos = options.rate() > 0 ? (long) (options.concurrency() * 1e9 / options.rate()) : 0;
+
+        log("Running %s warmup and %s measurement with %d workers", options.warmup(), options.duration(),
+                options.concurrency());
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < options.concurrency(); i++) {
+            long firstStart = System.nanoTime() + intervalNanos * i / options.concurrency();
+            running.add(workers.submit(() -> work(baseUrl, users, schedule, report, firstStart, intervalNanos, endNanos)));
+        }
+
+        TimeUnit.NANOSECONDS.sleep(warmupNanos);
+        report.reset();
+        long measureStart = System.nanoTime();
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        Duration measured = Duration.ofNanos(System.nanoTime() - measureStart);
+        workers.shutdown();
+
+        report.write(options, baseUrl, measured);
+        System.out.print(Files.readString(options.output()));
+        log("Summary written to %s", options.output().toAbsolutePath());
+    }
+
+    private Void work(String baseUrl, List<SeededUser> users, Operation[] schedule, LoadReport report,
+                      long firstStart, long intervalNanos, long endNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intendedStart = firstStart;
+        while (true) {
+            long now = System.nanoTime();
+            if (intervalNanos > 0) {
+                while (now < intendedStart) {
+                    LockSupport.parkNanos(intendedStart - now);
+                    now = System.nanoTime();
+                }
+            } else {
+                intendedStart = now;
+            }
+            if (now >= endNanos) {
+                return null;
+            }
+
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            SeededUser user = users.get(random.nextInt(users.size()));
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(operation.request(baseUrl, user),
+                        HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            report.record(operation, System.nanoTime() - intendedStart, success);
+            intendedStart += intervalNanos;
+        }
+    }
+
+    private List<SeededUser> seed(String baseUrl) throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<SeededUser> users = new ArrayList<>(options.users());
+        for (int offset = 0; offset < options.users(); offset += SEED_BATCH_SIZE) {
+            StringJoiner batch = new StringJoiner(",", "{\"users\":[", "]}");
+            for (int i = offset; i < Math.min(options.users(), offset + SEED_BATCH_SIZE); i++) {
+                batch.add(Operation.createUserJson(UUID.randomUUID(), "seed-" + run + "-" + i + "@loadtest.example", i));
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                    .build());
+            for (JsonNode result : objectMapper.readTree(response.body()).path("data").path("results")) {
+                if (result.path("success").asBoolean()) {
+                    JsonNode user = result.path("user");
+                    users.add(new SeededUser(UUID.fromString(user.path("id").asText()),
+                            UUID.fromString(user.path("authId").asText())));
+                }
+            }
+        }
+
+        // Give every user a profile and a status history entry so those reads hit real rows
+        ExecutorService seeders = Executors.newFixedThreadPool(SEED_CONCURRENCY);
+        try {
+            List<Future<?>> pending = new ArrayList<>(users.size());
+            for (SeededUser user : users) {
+                pending.add(seeders.submit(() -> {
+                    send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/" + user.id() + "/profile"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"city\":\"Seed City\",\"country\":\"US\"}"))
+                            .build());
+                    return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/" + user.id() + "/status"))
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"ACTIVE\",\"reason\":\"load test seed\"}"))
+                            .build());
+                }));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } finally {
+            seeders.shutdown();
+        }
+        return users;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding request " + request.method() + " " + request.uri()
+                    + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private static Operation[] schedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(Operation[]::new);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[load-test] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mobilebanking.user.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command-line options of {@link LoadTest}. Every option has a default, so a bare run starts
+ * Postgres in a container, boots the service in-process and applies the default mix.
+ * <pre>
+ * --base-url URL       drive an already running instance instead of starting one
+ * --jdbc-url URL       start the service against this database instead of a container
+ * --db-user USER       database user for --jdbc-url (default postgres)
+ * --db-password PASS   database password for --jdbc-url (default postgres)
+ * --users N            users to seed before the run (default 10000)
+ * --concurrency N      worker threads (default 64)
+ * --rate N             target requests per second across all workers; omit for closed loop
+ * --warmup DURATION    ISO-8601 warmup, discarded from the results (default PT15S)
+ * --duration DURATION  ISO-8601 measurement window (default PT60S)
+ * --mix SPEC           operation:weight,... (default {@value #DEFAULT_MIX})
+ * --output FILE        summary file (default target/loadtest/summary.txt)
+ * </pre>
+ */
+record LoadTestOptions(
+        String baseUrl,
+        String jdbcUrl,
+        String dbUser,
+        String dbPassword,
+        int users,
+        int concurrency,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path output) {
+
+    static final String DEFAULT_MIX =
+            "user-by-auth-id:85,profile:3,status-history:2,update-user:5,update-profile:3,create-user:2";
+
+    private static final Set<String> OPTIONS = Set.of("base-url", "jdbc-url", "db-user", "db-password", "users",
+            "concurrency", "rate", "warmup", "duration", "mix", "output");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs but got: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + ", expected one of " + OPTIONS);
+            }
+            values.put(name, args[++i]);
+        }
+
+        return new LoadTestOptions(
+                values.get("base-url"),
+                values.get("jdbc-url"),
+                values.getOrDefault("db-user", "postgres"),
+                values.getOrDefault("db-password", "postgres"),
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Double.parseDouble(values.getOrDefault("rate", "0")),
+                Duration.parse(values.getOrDefault("warmup", "PT15S")),
+                Duration.parse(values.getOrDefault("duration", "PT60S")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(values.getOrDefault("output", "target/loadtest/summary.txt")));
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation:weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.byName(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one operation with a positive weight");
+        }
+        return mix;
+    }
+
+    String describeMix() {
+        StringBuilder sb = new StringBuilder();
+        mix.forEach((operation, weight) -> {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(operation.label()).append(':').append(weight);
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.mobilebanking.user.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Requests the load generator can issue, each against a randomly chosen seeded user.
+ */
+enum Operation {
+
+    USER_BY_AUTH_ID("user-by-auth-id") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return get(baseUrl + "/api/v1/users/auth/" + user.authId());
+        }
+    },
+    USER_BY_ID("user-by-id") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return get(baseUrl + "/api/v1/users/" + user.id());
+        }
+    },
+    PROFILE("profile") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return get(baseUrl + "/api/v1/users/" + user.id() + "/profile");
+        }
+    },
+    STATUS_HISTORY("status-history") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return get(baseUrl + "/api/v1/users/" + user.id() + "/status-history/scroll?size=20");
+        }
+    },
+    UPDATE_USER("update-user") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return put(baseUrl + "/api/v1/users/" + user.id(),
+                    "{\"lastName\":\"Load" + ThreadLocalRandom.current().nextInt(1_000_000) + "\"}");
+        }
+    },
+    UPDATE_PROFILE("update-profile") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            return put(baseUrl + "/api/v1/users/" + user.id() + "/profile",
+                    "{\"city\":\"City " + ThreadLocalRandom.current().nextInt(1_000) + "\"}");
+        }
+    },
+    CREATE_USER("create-user") {
+        @Override
+        HttpRequest request(String baseUrl, SeededUser user) {
+            UUID authId = UUID.randomUUID();
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createUserJson(authId, "created-" + authId + "@loadtest.example", 0)))
+                    .build();
+        }
+    };
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract HttpRequest request(String baseUrl, SeededUser user);
+
+    static Operation byName(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + label + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::label).toList()));
+    }
+
+    static String createUserJson(UUID authId, String email, int index) {
+        return "{\"authId\":\"" + authId + "\",\"email\":\"" + email + "\",\"firstName\":\"Load\",\"lastName\":\"User"
+                + index + "\"}";
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest put(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package com.mobilebanking.user.loadtest;
+
+import java.util.UUID;
+
+record SeededUser(UUID id, UUID authId) {
+}
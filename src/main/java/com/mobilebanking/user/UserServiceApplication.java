@@ -2,8 +2,12 @@ package com.mobilebanking.user;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by the optional reactive read path, which configures its own pool
+// (see ReactiveReadConfig); a reactive transaction manager would displace the JPA one.
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,134 @@
+package com.mobilebanking.user.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Listens for invalidation notifications from every replica and re-publishes them as
+ * {@link EntityChangedEvent}s. Uses its own connection outside the Hikari pool because a
+ * LISTEN session is held for the lifetime of the application.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Counter receivedCounter;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public CacheInvalidationListener(
+            DataSourceProperties dataSourceProperties,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.channel:user_cache_invalidation}") String channel,
+            @Value("${app.cache.invalidation.poll-timeout:PT1S}") Duration pollTimeout,
+            @Value("${app.cache.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Number of cache invalidation notifications received")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel {}", channel);
+
+                // Anything committed while we were not listening has been missed.
+                eventPublisher.publishEvent(EntityChangedEvent.all(EntityType.USER));
+                eventPublisher.publishEvent(EntityChangedEvent.all(EntityType.PROFILE));
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, retrying in {}", reconnectDelay, e);
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        receivedCounter.increment();
+        try {
+            eventPublisher.publishEvent(InvalidationPayload.decode(payload));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring cache invalidation payload {}", payload, e);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mobilebanking.user.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends entity change notifications over PostgreSQL NOTIFY. The notification is issued on
+ * the caller's transaction, so Postgres only delivers it to listeners once that transaction
+ * commits and drops it on rollback.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final Counter publishedCounter;
+
+    public CacheInvalidationPublisher(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${app.cache.invalidation.channel:user_cache_invalidation}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("Number of cache invalidation notifications sent")
+                .register(meterRegistry);
+    }
+
+    public void publish(EntityType type, UUID id, Long version) {
+        if (!enabled) {
+            return;
+        }
+        String payload = InvalidationPayload.encode(type, id, version);
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, channel, payload);
+        publishedCounter.increment();
+        log.debug("Queued cache invalidation {} on channel {}", payload, channel);
+    }
+
+    public void publishAll(EntityType type, Map<UUID, Long> versionsById) {
+        if (!enabled || versionsById.isEmpty()) {
+            return;
+        }
+        String[] payloads = versionsById.entrySet().stream()
+                .map(entry -> InvalidationPayload.encode(type, entry.getKey(), entry.getValue()))
+                .toArray(String[]::new);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload");
+            statement.setString(1, channel);
+            statement.setArray(2, connection.createArrayOf("text", payloads));
+            return statement;
+        }, (ResultSetExtractor<Void>) rs -> null);
+        publishedCounter.increment(payloads.length);
+        log.debug("Queued {} cache invalidations on channel {}", payloads.length, channel);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mobilebanking.user.cache;
+
+import java.util.UUID;
+
+/**
+ * Raised when another replica (or this one) committed a change to a cached entity.
+ * For {@link EntityType#PROFILE} the id is the owning user's id. A null version means the
+ * entry must be evicted unconditionally; a null id means every entry of the type may be stale.
+ */
+public record EntityChangedEvent(EntityType type, UUID id, Long version) {
+
+    public static EntityChangedEvent all(EntityType type) {
+        return new EntityChangedEvent(type, null, null);
+    }
+
+    public boolean isAll() {
+        return id == null;
+    }
+}
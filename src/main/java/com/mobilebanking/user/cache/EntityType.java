@@ -0,0 +1,6 @@
+package com.mobilebanking.user.cache;
+
+public enum EntityType {
+    USER,
+    PROFILE
+}
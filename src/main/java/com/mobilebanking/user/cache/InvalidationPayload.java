@@ -0,0 +1,28 @@
+package com.mobilebanking.user.cache;
+
+import java.util.UUID;
+
+/**
+ * Wire format of invalidation notifications: {@code TYPE:id:version}, with an empty
+ * version for unconditional evictions.
+ */
+final class InvalidationPayload {
+
+    private InvalidationPayload() {
+    }
+
+    static String encode(EntityType type, UUID id, Long version) {
+        return type.name() + ":" + id + ":" + (version != null ? version : "");
+    }
+
+    static EntityChangedEvent decode(String payload) {
+        String[] parts = payload.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        EntityType type = EntityType.valueOf(parts[0]);
+        UUID id = UUID.fromString(parts[1]);
+        Long version = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+        return new EntityChangedEvent(type, id, version);
+    }
+}
@@ -0,0 +1,92 @@
+package com.mobilebanking.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache of {@link UserProfileResponse} instances keyed by user id.
+ */
+@Component
+public class ProfileCache {
+
+    private final Cache<UUID, UserProfileResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProfileCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.profiles.maximum-size:100000}") long maximumSize,
+            @Value("${app.cache.profiles.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "profiles");
+    }
+
+    public UserProfileResponse get(UUID userId, Supplier<UserProfileResponse> loader) {
+        UserProfileResponse cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        UserProfileResponse profile = loader.get();
+        if (generation.get() == startGeneration) {
+            cache.put(userId, profile);
+        }
+        return profile;
+    }
+
+    public Optional<UserProfileResponse> getIfPresent(UUID userId) {
+        return Optional.ofNullable(cache.getIfPresent(userId));
+    }
+
+    public void evict(UUID userId) {
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    public void evictOnCommit(UUID userId) {
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.type() != EntityType.PROFILE) {
+            return;
+        }
+        if (event.isAll()) {
+            clear();
+        } else {
+            evict(event.id());
+        }
+    }
+}
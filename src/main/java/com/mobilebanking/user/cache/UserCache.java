@@ -0,0 +1,215 @@
+package com.mobilebanking.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mobilebanking.user.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache of {@link UserResponse} instances. Each cached user is
+ * reachable by id, auth ID and email; all three keys point at the same response instance
+ * and are invalidated together.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+    private enum KeyType { ID, AUTH_ID, EMAIL }
+
+    private record Key(KeyType type, Object value) {
+    }
+
+    private final Cache<Key, UserResponse> cache;
+
+    /**
+     * Bumped on every invalidation. A load that started before an invalidation must not
+     * be cached, otherwise a value read before a commit could outlive the commit.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.users.maximum-size:300000}") long maximumSize,
+            @Value("${app.cache.users.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .removalListener(this::onRemoval)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public UserResponse getById(UUID id, Supplier<UserResponse> loader) {
+        return get(new Key(KeyType.ID, id), loader);
+    }
+
+    public UserResponse getByAuthId(UUID authId, Supplier<UserResponse> loader) {
+        return get(new Key(KeyType.AUTH_ID, authId), loader);
+    }
+
+    public UserResponse getByEmail(String email, Supplier<UserResponse> loader) {
+        return get(new Key(KeyType.EMAIL, email), loader);
+    }
+
+    public Map<UUID, UserResponse> getAllById(Collection<UUID> ids, Function<Set<UUID>, List<UserResponse>> loader) {
+        return getAll(KeyType.ID, ids, UserResponse::getId, loader);
+    }
+
+    public Map<UUID, UserResponse> getAllByAuthId(Collection<UUID> authIds, Function<Set<UUID>, List<UserResponse>> loader) {
+        return getAll(KeyType.AUTH_ID, authIds, UserResponse::getAuthId, loader);
+    }
+
+    public Optional<UserResponse> getIfPresent(UUID id) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(KeyType.ID, id)));
+    }
+
+    public Optional<UserResponse> getIfPresentByAuthId(UUID authId) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(KeyType.AUTH_ID, authId)));
+    }
+
+    /**
+     * Generation to pass to {@link #putIfCurrent} by callers that load asynchronously and
+     * cannot use the {@code Supplier}-based getters.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public void putIfCurrent(UserResponse user, long startGeneration) {
+        if (generation.get() == startGeneration) {
+            put(user);
+        }
+    }
+
+    public void evict(UUID id, UUID authId, String email) {
+        generation.incrementAndGet();
+        invalidateKeys(id, authId, email);
+    }
+
+    /**
+     * Evicts the user now and again once the surrounding transaction commits, so that a
+     * concurrent reader cannot repopulate the cache with the pre-commit row.
+     */
+    public void evictOnCommit(UUID id, UUID authId, String email) {
+        evict(id, authId, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id, authId, email);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.type() != EntityType.USER) {
+            return;
+        }
+        if (event.isAll()) {
+            clear();
+            return;
+        }
+
+        UserResponse cached = cache.getIfPresent(new Key(KeyType.ID, event.id()));
+        if (cached == null) {
+            // Sibling keys are dropped together with the id key, see onRemoval.
+            generation.incrementAndGet();
+            return;
+        }
+        if (event.version() != null && cached.getVersion() != null && cached.getVersion() >= event.version()) {
+            return;
+        }
+        evict(cached.getId(), cached.getAuthId(), cached.getEmail());
+    }
+
+    private void onRemoval(Key key, UserResponse user, RemovalCause cause) {
+        if (user != null && cause.wasEvicted()) {
+            invalidateKeys(user.getId(), user.getAuthId(), user.getEmail());
+        }
+    }
+
+    private void invalidateKeys(UUID id, UUID authId, String email) {
+        cache.invalidate(new Key(KeyType.ID, id));
+        cache.invalidate(new Key(KeyType.AUTH_ID, authId));
+        cache.invalidate(new Key(KeyType.EMAIL, email));
+    }
+
+    private UserResponse get(Key key, Supplier<UserResponse> loader) {
+        UserResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        UserResponse user = loader.get();
+        if (generation.get() == startGeneration) {
+            put(user);
+        } else {
+            log.debug("Skipping cache fill for user {} after concurrent invalidation", user.getId());
+        }
+        return user;
+    }
+
+    private <K> Map<K, UserResponse> getAll(KeyType type, Collection<K> keys, Function<UserResponse, K> keyOf,
+                                             Function<Set<K>, List<UserResponse>> loader) {
+        Map<K, UserResponse> found = new HashMap<>(keys.size());
+        Set<K> missing = new HashSet<>();
+        for (K key : keys) {
+            UserResponse cached = cache.getIfPresent(new Key(type, key));
+            if (cached != null) {
+                found.put(key, cached);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long startGeneration = generation.get();
+        List<UserResponse> loaded = loader.apply(missing);
+        boolean cacheable = generation.get() == startGeneration;
+        for (UserResponse user : loaded) {
+            found.put(keyOf.apply(user), user);
+            if (cacheable) {
+                put(user);
+            }
+        }
+        return found;
+    }
+
+    private void put(UserResponse user) {
+        cache.put(new Key(KeyType.ID, user.getId()), user);
+        cache.put(new Key(KeyType.AUTH_ID, user.getAuthId()), user);
+        cache.put(new Key(KeyType.EMAIL, user.getEmail()), user);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mobilebanking.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mobilebanking.user.dto.UserResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encoded JSON of {@link UserResponse} instances keyed by user id and version, bounded by total
+ * bytes. Entries never need invalidating: every write to a user bumps its version, so a changed
+ * user simply misses and its old encodings age out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.user-json.enabled", havingValue = "true", matchIfMissing = true)
+public class UserJsonCache {
+
+    /** Rough per-entry footprint besides the array contents: key, UUID, array header, cache node. */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private record Key(UUID id, long version) {
+    }
+
+    private final Cache<Key, byte[]> cache;
+
+    public UserJsonCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.user-json.maximum-size:64MB}") DataSize maximumSize,
+            @Value("${app.cache.user-json.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Key key, byte[] json) -> json.length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-json");
+        Gauge.builder("cache.weighted.size", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", "user-json")
+                .description("Approximate bytes held by the encoded user JSON cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /** Whether {@code user} carries the id and version needed to be cached. */
+    public static boolean isCacheable(UserResponse user) {
+        return user.getId() != null && user.getVersion() != null;
+    }
+
+    public byte[] get(UserResponse user, Function<UserResponse, byte[]> encoder) {
+        return cache.get(new Key(user.getId(), user.getVersion()), key -> encoder.apply(user));
+    }
+}
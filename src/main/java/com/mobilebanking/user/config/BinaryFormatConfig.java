@@ -0,0 +1,31 @@
+package com.mobilebanking.user.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) encodings of
+ * every request and response body, chosen by {@code Accept} / {@code Content-Type}, for internal
+ * callers that do not need to read payloads by eye. Both use the Boot-configured mapper settings
+ * ({@code spring.jackson.*}), so dates, null handling and field names match the JSON. JSON stays
+ * the default when the client does not ask for a binary type.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    // Replace Spring MVC's defaults for these types, which ignore spring.jackson.* settings
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
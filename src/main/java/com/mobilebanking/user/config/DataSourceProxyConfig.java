@@ -0,0 +1,65 @@
+package com.mobilebanking.user.config;
+
+import com.mobilebanking.user.metrics.QueryInstrumentationListener;
+import com.mobilebanking.user.metrics.QueryPlanSampler;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application data source in a datasource-proxy {@link ProxyDataSource} so every
+ * statement is counted against the current request and slow statements are logged (and
+ * optionally explained). Runs after every other data source post-processor so it sees the
+ * final data source, including the virtual-thread connection limiter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db-stats.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        return new OrderedDataSourcePostProcessor(environment);
+    }
+
+    private static final class OrderedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        private OrderedDataSourcePostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            Duration threshold = environment.getProperty("app.db-stats.slow-query-threshold",
+                    Duration.class, Duration.ofMillis(200));
+            QueryPlanSampler planSampler = null;
+            if (environment.getProperty("app.db-stats.explain.enabled", Boolean.class, false)) {
+                double sampleRate = environment.getProperty("app.db-stats.explain.sample-rate", Double.class, 0.1);
+                planSampler = new QueryPlanSampler(dataSource, sampleRate);
+                log.info("Sampling {}% of slow queries on '{}' for EXPLAIN ANALYZE", sampleRate * 100, beanName);
+            }
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(new QueryInstrumentationListener(threshold, planSampler))
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
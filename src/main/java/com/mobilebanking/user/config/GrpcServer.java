@@ -0,0 +1,70 @@
+package com.mobilebanking.user.config;
+
+import io.grpc.Server;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and stops the gRPC servers (the network listener and, if configured, an in-process
+ * server) with the application context. Calls run on a bounded executor shared by all servers;
+ * on shutdown in-flight calls get a grace period before being cancelled.
+ */
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<Server> servers;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+
+    public GrpcServer(List<Server> servers, ExecutorService executor) {
+        this.servers = servers;
+        this.executor = executor;
+    }
+
+    @Override
+    public void start() {
+        for (Server server : servers) {
+            try {
+                server.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start gRPC server", e);
+            }
+            log.info("gRPC server started on {}", server.getListenSockets());
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        servers.forEach(Server::shutdown);
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            for (Server server : servers) {
+                if (!server.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    log.warn("gRPC calls still running after {}; cancelling them", SHUTDOWN_TIMEOUT);
+                    server.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            servers.forEach(Server::shutdownNow);
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
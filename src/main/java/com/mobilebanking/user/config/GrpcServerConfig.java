@@ -0,0 +1,60 @@
+package com.mobilebanking.user.config;
+
+import com.mobilebanking.user.controller.UserGrpcService;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional gRPC lookup service ({@code app.grpc.enabled=true}) on its own HTTP/2 port next to
+ * Tomcat, for internal callers that resolve users at high rates. Calls block on {@code UserService}
+ * (cache, then JDBC), so they run on a fixed pool rather than on the Netty event loop. Setting
+ * {@code app.grpc.in-process-name} also registers the service on an in-process server, which
+ * tests and co-located clients can reach through {@code InProcessChannelBuilder.forName(...)}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Bean
+    public GrpcServer grpcServer(
+            UserGrpcService userGrpcService,
+            @Value("${app.grpc.port:9090}") int port,
+            @Value("${app.grpc.in-process-name:}") String inProcessName,
+            @Value("${app.grpc.executor-threads:16}") int executorThreads,
+            @Value("${app.grpc.max-inbound-message-size:4MB}") DataSize maxInboundMessageSize,
+            @Value("${app.grpc.keep-alive-time:PT2M}") Duration keepAliveTime,
+            @Value("${app.grpc.permit-keep-alive-time:PT30S}") Duration permitKeepAliveTime) {
+        ExecutorService executor = Executors.newFixedThreadPool(executorThreads, new CustomizableThreadFactory("user-grpc-"));
+
+        List<Server> servers = new ArrayList<>(2);
+        servers.add(NettyServerBuilder.forPort(port)
+                .addService(userGrpcService)
+                .executor(executor)
+                .maxInboundMessageSize((int) maxInboundMessageSize.toBytes())
+                .keepAliveTime(keepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(permitKeepAliveTime.toMillis(), TimeUnit.MILLISECONDS)
+                .build());
+        if (StringUtils.hasText(inProcessName)) {
+            servers.add(InProcessServerBuilder.forName(inProcessName)
+                    .addService(userGrpcService)
+                    .executor(executor)
+                    .build());
+        }
+        return new GrpcServer(servers, executor);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mobilebanking.user.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.user.controller.ReactiveUserHandler;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+/**
+ * Optional non-blocking read path ({@code app.reactive.enabled=true}). Lookups by id and auth ID
+ * are served from a separate Reactor Netty port through R2DBC against the same database;
+ * writes stay on the servlet API. The R2DBC pool is bounded in both size and pending
+ * acquisitions, so excess load is rejected with 503 instead of queueing without limit.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveReadConnectionPool(
+            DataSourceProperties dataSourceProperties,
+            @Value("${app.reactive.r2dbc-url:}") String r2dbcUrl,
+            @Value("${app.reactive.pool.max-size:10}") int maxSize,
+            @Value("${app.reactive.pool.max-pending-acquire:1000}") int maxPendingAcquire,
+            @Value("${app.reactive.pool.max-acquire-time:PT2S}") Duration maxAcquireTime) {
+        String url = StringUtils.hasText(r2dbcUrl)
+                ? r2dbcUrl
+                : "r2dbc:" + dataSourceProperties.determineUrl().substring("jdbc:".length());
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build();
+
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("user-reactive-read")
+                .initialSize(Math.min(2, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .customizer(pool -> pool.maxPendingAcquire(maxPendingAcquire))
+                .build();
+        return new ConnectionPool(configuration);
+    }
+
+    @Bean
+    public DatabaseClient reactiveReadDatabaseClient(ConnectionPool reactiveReadConnectionPool) {
+        return DatabaseClient.create(reactiveReadConnectionPool);
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(
+            ReactiveUserHandler handler,
+            ObjectMapper objectMapper,
+            @Value("${app.reactive.port:8083}") int port,
+            @Value("${app.reactive.event-loop-threads:4}") int eventLoopThreads) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveReadServer(RouterFunctions.toHttpHandler(handler.routes(), strategies), port, eventLoopThreads);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mobilebanking.user.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.user.cache.UserJsonCache;
+import com.mobilebanking.user.dto.ApiResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes {@code ApiResponse<UserResponse>} bodies (single-user reads such as
+ * {@code GET /api/v1/users/{id}} and {@code /auth/{authId}}) from {@link UserJsonCache}: a constant
+ * envelope, the cached user bytes and the response timestamp, with no Jackson pass on a hit.
+ * The output is byte-for-byte what Jackson writes for the same object. Every other body, including
+ * responses carrying a message, errors or a path, goes to the Jackson converter unchanged.
+ */
+class UserJsonHttpMessageConverter implements HttpMessageConverter<Object> {
+
+    private static final byte[] PREFIX = "{\"success\":true,\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final MappingJackson2HttpMessageConverter jackson;
+    private final ObjectMapper objectMapper;
+    private final UserJsonCache cache;
+
+    UserJsonHttpMessageConverter(MappingJackson2HttpMessageConverter jackson, UserJsonCache cache) {
+        this.jackson = jackson;
+        this.objectMapper = jackson.getObjectMapper();
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ApiResponse.class.isAssignableFrom(clazz) && jackson.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return jackson.getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Write-only converter", inputMessage);
+    }
+
+    @Override
+    public void write(Object body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        if (!(body instanceof ApiResponse<?> response) || !isCacheable(response)) {
+            jackson.write(body, contentType, outputMessage);
+            return;
+        }
+
+        byte[] user = cache.get((UserResponse) response.getData(), this::encode);
+        byte[] timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(response.getTimestamp())
+                .getBytes(StandardCharsets.US_ASCII);
+        outputMessage.getHeaders().setContentType(contentType == null || !contentType.isConcrete()
+                ? MediaType.APPLICATION_JSON : contentType);
+        outputMessage.getHeaders().setContentLength(
+                PREFIX.length + user.length + TIMESTAMP_FIELD.length + timestamp.length + SUFFIX.length);
+
+        OutputStream out = outputMessage.getBody();
+        out.write(PREFIX);
+        out.write(user);
+        out.write(TIMESTAMP_FIELD);
+        out.write(timestamp);
+        out.write(SUFFIX);
+        out.flush();
+    }
+
+    /** Only the shape produced by {@link ApiResponse#success(Object)} with a versioned user. */
+    private static boolean isCacheable(ApiResponse<?> response) {
+        return response.isSuccess()
+                && response.getData() instanceof UserResponse user
+                && UserJsonCache.isCacheable(user)
+                && response.getMessage() == null
+                && response.getErrors() == null
+                && response.getPath() == null
+                && response.getTimestamp() != null;
+    }
+
+    private byte[] encode(UserResponse user) {
+        try {
+            return objectMapper.writeValueAsBytes(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mobilebanking.user.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}, Java 21+).
+ * Spring Boot moves Tomcat request handling and {@code @Async} execution onto virtual threads;
+ * this configuration additionally puts the Hikari pool behind a {@link ConnectionLimitingDataSource}
+ * sized to the pool, so thousands of request threads queue on a semaphore rather than inside Hikari.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new OrderedBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    log.info("Limiting data source '{}' to {} concurrent connections for virtual threads",
+                            beanName, hikari.getMaximumPoolSize());
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+
+            @Override
+            public int getOrder() {
+                // Ahead of DataSourceProxyConfig, which must wrap the limiter rather than Hikari
+                return 0;
+            }
+        };
+    }
+
+    private interface OrderedBeanPostProcessor extends BeanPostProcessor, Ordered {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) throws SQLException {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but the JVM is Java {}; requests stay on platform threads",
+                    Runtime.version().feature());
+        }
+
+        DataSource dataSource = event.getApplicationContext().getBeanProvider(DataSource.class).getIfUnique();
+        if (dataSource != null && dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+            ConnectionLimitingDataSource limiting = dataSource.unwrap(ConnectionLimitingDataSource.class);
+            MeterRegistry meterRegistry = event.getApplicationContext().getBean(MeterRegistry.class);
+            Gauge.builder("jdbc.connections.permits.available", limiting, ConnectionLimitingDataSource::getAvailablePermits)
+                    .description("Connection permits not currently held by a request")
+                    .register(meterRegistry);
+            Gauge.builder("jdbc.connections.permits.waiting", limiting, ConnectionLimitingDataSource::getQueueLength)
+                    .description("Threads waiting for a connection permit")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.mobilebanking.user.config;
 
+import com.mobilebanking.user.cache.UserJsonCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -14,13 +18,34 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectProvider<UserJsonCache> userJsonCache;
+
+    public WebConfig(ObjectProvider<UserJsonCache> userJsonCache) {
+        this.userJsonCache = userJsonCache;
+    }
+
+    /** Serves single-user JSON bodies from {@link UserJsonCache} ahead of the Jackson converter. */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        UserJsonCache cache = userJsonCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson) {
+                converters.add(i, new UserJsonHttpMessageConverter(jackson, cache));
+                return;
+            }
+        }
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization", "X-Request-Id")
+                .exposedHeaders("Authorization", "X-Request-Id", "X-DB-Query-Count", "X-DB-Time-Ms", "ETag")
                 .maxAge(3600);
     }
 
@@ -29,8 +54,8 @@ public class WebConfig implements WebMvcConfigurer {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "X-User-Id"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Request-Id"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin", "X-User-Id", "If-Match", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Request-Id", "X-DB-Query-Count", "X-DB-Time-Ms", "ETag"));
         configuration.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
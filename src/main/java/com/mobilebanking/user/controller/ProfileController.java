@@ -3,6 +3,7 @@ package com.mobilebanking.user.controller;
 import com.mobilebanking.user.dto.ApiResponse;
 import com.mobilebanking.user.dto.UserProfileRequest;
 import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.service.ETags;
 import com.mobilebanking.user.service.UserProfileService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -35,15 +37,28 @@ public class ProfileController {
                     description = "Profile found",
                     content = @Content(schema = @Schema(implementation = UserProfileResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag in If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Profile not found"
             )
     })
     public ResponseEntity<ApiResponse<UserProfileResponse>> getProfile(
-            @Parameter(description = "User ID") @PathVariable UUID userId) {
+            @Parameter(description = "User ID") @PathVariable UUID userId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = profileService.getProfileETag(userId);
+            if (ETags.matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserProfileResponse response = profileService.getProfile(userId);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success(response));
     }
 
     @PutMapping
@@ -57,13 +72,48 @@ public class ProfileController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "User not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "Profile changed since the ETag in If-Match"
             )
     })
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateProfile(
             @Parameter(description = "User ID") @PathVariable UUID userId,
-            @Valid @RequestBody UserProfileRequest request) {
-        UserProfileResponse response = profileService.createOrUpdateProfile(userId, request);
-        return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", response));
+            @Valid @RequestBody UserProfileRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        UserProfileResponse response = profileService.createOrUpdateProfile(userId, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success("Profile updated successfully", response));
+    }
+
+    @PatchMapping
+    @Operation(summary = "Partially update user profile",
+            description = "Update only the supplied fields of an existing profile; nothing is written when they already match")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Profile updated, or already up to date",
+                    content = @Content(schema = @Schema(implementation = UserProfileResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Profile not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "Profile changed since the ETag in If-Match"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserProfileResponse>> patchProfile(
+            @Parameter(description = "User ID") @PathVariable UUID userId,
+            @Valid @RequestBody UserProfileRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        UserProfileResponse response = profileService.patchProfile(userId, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success("Profile updated successfully", response));
     }
 
     @PutMapping("/avatar")
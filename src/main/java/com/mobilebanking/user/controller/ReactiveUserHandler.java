@@ -0,0 +1,148 @@
+package com.mobilebanking.user.controller;
+
+import com.mobilebanking.user.cache.UserCache;
+import com.mobilebanking.user.dto.ApiResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.ReactiveUserReadRepository;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.pool.PoolAcquirePendingLimitException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Functional WebFlux routes for the hot read lookups, served by the reactive read server
+ * (see {@code ReactiveReadConfig}). Paths and response envelopes match
+ * {@link UserController} and {@link ProfileController}, so callers can switch by port.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveUserHandler {
+
+    private static final int MAX_STREAM_IDS = 2000;
+    private static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveUserReadRepository readRepository;
+    private final UserCache userCache;
+
+    public ReactiveUserHandler(ReactiveUserReadRepository readRepository, UserCache userCache) {
+        this.readRepository = readRepository;
+        this.userCache = userCache;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route(GET("/api/v1/users/auth/{authId}"), this::getUserByAuthId)
+                .andRoute(GET("/api/v1/users/{id}/profile"), this::getProfile)
+                .andRoute(GET("/api/v1/users/{id}"), this::getUserById)
+                .andRoute(POST("/api/v1/users/lookup/stream"), this::streamUsers);
+    }
+
+    Mono<ServerResponse> getUserById(ServerRequest request) {
+        return ok(request, Mono.defer(() -> {
+            UUID id = UUID.fromString(request.pathVariable("id"));
+            return Mono.justOrEmpty(userCache.getIfPresent(id))
+                    .switchIfEmpty(cacheOnLoad(readRepository.findById(id)))
+                    .switchIfEmpty(Mono.error(UserException::userNotFound));
+        }));
+    }
+
+    Mono<ServerResponse> getUserByAuthId(ServerRequest request) {
+        return ok(request, Mono.defer(() -> {
+            UUID authId = UUID.fromString(request.pathVariable("authId"));
+            return Mono.justOrEmpty(userCache.getIfPresentByAuthId(authId))
+                    .switchIfEmpty(cacheOnLoad(readRepository.findByAuthId(authId)))
+                    .switchIfEmpty(Mono.error(UserException::userNotFoundByAuthId));
+        }));
+    }
+
+    Mono<ServerResponse> getProfile(ServerRequest request) {
+        return ok(request, Mono.defer(() -> readRepository
+                .findProfileByUserId(UUID.fromString(request.pathVariable("id")))
+                .switchIfEmpty(Mono.error(UserException::profileNotFound))));
+    }
+
+    /**
+     * Streams users for a JSON array of ids as newline-delimited JSON. Rows are pulled from
+     * Postgres only as fast as the client reads the response.
+     */
+    Mono<ServerResponse> streamUsers(ServerRequest request) {
+        return request.bodyToMono(new ParameterizedTypeReference<List<UUID>>() {})
+                .filter(ids -> !ids.isEmpty() && ids.size() <= MAX_STREAM_IDS)
+                .switchIfEmpty(Mono.error(() -> UserException.invalidSearchParameters(
+                        "Between 1 and " + MAX_STREAM_IDS + " ids are required")))
+                .flatMap(ids -> {
+                    Flux<UserResponse> users = readRepository.findAllById(ids).limitRate(STREAM_PREFETCH);
+                    return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(users, UserResponse.class);
+                })
+                .onErrorResume(e -> error(request, e));
+    }
+
+    private Mono<UserResponse> cacheOnLoad(Mono<UserResponse> load) {
+        return Mono.defer(() -> {
+            long startGeneration = userCache.currentGeneration();
+            return load.doOnNext(user -> userCache.putIfCurrent(user, startGeneration));
+        });
+    }
+
+    private Mono<ServerResponse> ok(ServerRequest request, Mono<?> body) {
+        return body.flatMap(data -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.success(data)))
+                .onErrorResume(e -> error(request, e));
+    }
+
+    private Mono<ServerResponse> error(ServerRequest request, Throwable e) {
+        HttpStatus status;
+        String message;
+        String code;
+        if (e instanceof UserException userException) {
+            log.warn("User exception: {} - {}", userException.getErrorCode(), userException.getMessage());
+            status = userException.getStatus();
+            message = userException.getMessage();
+            code = userException.getErrorCode();
+        } else if (e instanceof IllegalArgumentException || e instanceof DecodingException) {
+            status = HttpStatus.BAD_REQUEST;
+            message = "Invalid request";
+            code = "INVALID_REQUEST";
+        } else if (e instanceof PoolAcquirePendingLimitException || e instanceof R2dbcTimeoutException
+                || e instanceof TimeoutException) {
+            log.warn("Reactive read rejected: {}", e.toString());
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+            message = "Service is busy, retry later";
+            code = "OVERLOADED";
+        } else {
+            log.error("Unexpected error: ", e);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            message = "An unexpected error occurred";
+            code = "INTERNAL_ERROR";
+        }
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(false)
+                .message(message)
+                .errors(Map.of("code", code))
+                .path(request.path())
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(response);
+    }
+}
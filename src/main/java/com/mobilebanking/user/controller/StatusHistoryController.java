@@ -1,6 +1,7 @@
 package com.mobilebanking.user.controller;
 
 import com.mobilebanking.user.dto.ApiResponse;
+import com.mobilebanking.user.dto.CursorPage;
 import com.mobilebanking.user.dto.StatusHistoryResponse;
 import com.mobilebanking.user.service.StatusHistoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,4 +34,14 @@ public class StatusHistoryController {
         Page<StatusHistoryResponse> response = statusHistoryService.getStatusHistory(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll status history", description = "Retrieve user status change history with cursor pagination, newest first")
+    public ResponseEntity<ApiResponse<CursorPage<StatusHistoryResponse>>> scrollStatusHistory(
+            @Parameter(description = "User ID") @PathVariable UUID userId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<StatusHistoryResponse> response = statusHistoryService.scrollStatusHistory(userId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
 }
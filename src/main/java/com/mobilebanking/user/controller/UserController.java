@@ -2,7 +2,9 @@ package com.mobilebanking.user.controller;
 
 import com.mobilebanking.user.dto.*;
 import com.mobilebanking.user.entity.UserStatus;
+import com.mobilebanking.user.service.ETags;
 import com.mobilebanking.user.service.UserService;
+import com.mobilebanking.user.service.UserSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,6 +22,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -30,6 +33,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserSnapshotService snapshotService;
 
     @PostMapping
     @Operation(summary = "Create user", description = "Create a new user")
@@ -54,6 +58,42 @@ public class UserController {
                 .body(ApiResponse.success("User created successfully", response));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create users in batch", description = "Create up to 5000 users in one request with per-item results")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed",
+                    content = @Content(schema = @Schema(implementation = BatchCreateUserResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error"
+            )
+    })
+    public ResponseEntity<ApiResponse<BatchCreateUserResponse>> createUsers(@Valid @RequestBody BatchCreateUserRequest request) {
+        BatchCreateUserResponse response = userService.createUsers(request.getUsers());
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", response));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up users", description = "Resolve up to 2000 user IDs, auth IDs or account numbers each in one call")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Lookup completed",
+                    content = @Content(schema = @Schema(implementation = UserLookupResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserLookupResponse>> lookupUsers(@Valid @RequestBody UserLookupRequest request) {
+        UserLookupResponse response = userService.lookupUsers(request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieve a user by their ID")
     @ApiResponses(value = {
@@ -62,15 +102,68 @@ public class UserController {
                     description = "User found",
                     content = @Content(schema = @Schema(implementation = UserResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag in If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "User not found"
             )
     })
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(
-            @Parameter(description = "User ID") @PathVariable UUID id) {
+            @Parameter(description = "User ID") @PathVariable UUID id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = userService.getUserETag(id);
+            if (ETags.matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         UserResponse response = userService.getUserById(id);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{id}/snapshot")
+    @Operation(summary = "Get user snapshot",
+            description = "Retrieve the user, profile and latest status history in a single call")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Snapshot returned",
+                    content = @Content(schema = @Schema(implementation = UserSnapshotResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag in If-None-Match"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown section or history size out of range"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "User not found"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserSnapshotResponse>> getUserSnapshot(
+            @Parameter(description = "User ID") @PathVariable UUID id,
+            @Parameter(description = "Sections to include: user, profile, statusHistory")
+            @RequestParam(defaultValue = "user,profile,statusHistory") List<String> include,
+            @Parameter(description = "Number of status history entries") @RequestParam(defaultValue = "5") int historySize,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = snapshotService.getSnapshotETag(id, include, historySize);
+            if (ETags.matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        UserSnapshotResponse response = snapshotService.getSnapshot(id, include, historySize);
+        return ResponseEntity.ok()
+                .eTag(response.getEtag())
+                .body(ApiResponse.success(response));
     }
 
     @GetMapping("/auth/{authId}")
@@ -128,6 +221,25 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll all users", description = "Retrieve all users with cursor pagination ordered by creation time")
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> scrollUsers(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserResponse> response = userService.scrollUsers(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    @Operation(summary = "Scroll users by status", description = "Retrieve users filtered by status with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> scrollUsersByStatus(
+            @Parameter(description = "User status") @PathVariable UserStatus status,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserResponse> response = userService.scrollUsersByStatus(status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search users", description = "Search users by name or email")
     public ResponseEntity<ApiResponse<Page<UserResponse>>> searchUsers(
@@ -137,6 +249,35 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/search/ranked")
+    @Operation(summary = "Ranked user search", description = "Search users by name or email, ranked by trigram similarity")
+    public ResponseEntity<ApiResponse<List<UserResponse>>> searchUsersRanked(
+            @Parameter(description = "Search query") @RequestParam String q,
+            @Parameter(description = "Minimum word similarity (0-1)") @RequestParam(defaultValue = "0.3") double minSimilarity,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "20") int limit) {
+        List<UserResponse> response = userService.searchUsersRanked(q, minSimilarity, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest users", description = "Typeahead suggestions by name, email prefix or phone prefix")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Suggestions returned"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Suggestion index is still loading"
+            )
+    })
+    public ResponseEntity<ApiResponse<List<UserSuggestionResponse>>> suggestUsers(
+            @Parameter(description = "Prefix typed so far") @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+        List<UserSuggestionResponse> response = userService.suggestUsers(q, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update user information")
     @ApiResponses(value = {
@@ -148,13 +289,48 @@ public class UserController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "User not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "User changed since the ETag in If-Match"
             )
     })
     public ResponseEntity<ApiResponse<UserResponse>> updateUser(
             @Parameter(description = "User ID") @PathVariable UUID id,
-            @Valid @RequestBody UpdateUserRequest request) {
-        UserResponse response = userService.updateUser(id, request);
-        return ResponseEntity.ok(ApiResponse.success("User updated successfully", response));
+            @Valid @RequestBody UpdateUserRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        UserResponse response = userService.updateUser(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success("User updated successfully", response));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update user",
+            description = "Update only the supplied fields; nothing is written when they already match")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "User updated, or already up to date",
+                    content = @Content(schema = @Schema(implementation = UserResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "User not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "User changed since the ETag in If-Match"
+            )
+    })
+    public ResponseEntity<ApiResponse<UserResponse>> patchUser(
+            @Parameter(description = "User ID") @PathVariable UUID id,
+            @Valid @RequestBody UpdateUserRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        UserResponse response = userService.updateUser(id, request, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success("User updated successfully", response));
     }
 
     @PutMapping("/{id}/status")
@@ -172,16 +348,23 @@ public class UserController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "User not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "User changed since the ETag in If-Match"
             )
     })
     public ResponseEntity<ApiResponse<UserResponse>> updateStatus(
             @Parameter(description = "User ID") @PathVariable UUID id,
             @Valid @RequestBody UpdateStatusRequest request,
             @RequestHeader(value = "X-User-Id", required = false) String changedBy,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             HttpServletRequest httpRequest) {
         String ipAddress = getClientIp(httpRequest);
-        UserResponse response = userService.updateStatus(id, request, changedBy, ipAddress);
-        return ResponseEntity.ok(ApiResponse.success("Status updated successfully", response));
+        UserResponse response = userService.updateStatus(id, request, changedBy, ipAddress, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(response.getId(), response.getVersion()))
+                .body(ApiResponse.success("Status updated successfully", response));
     }
 
     @DeleteMapping("/{id}")
@@ -202,7 +385,7 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
-    private String getClientIp(HttpServletRequest request) {
+    static String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             return xForwardedFor.split(",")[0].trim();
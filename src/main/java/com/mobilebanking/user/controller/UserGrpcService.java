@@ -0,0 +1,301 @@
+package com.mobilebanking.user.controller;
+
+import com.google.protobuf.Timestamp;
+import com.mobilebanking.user.dto.UserLookupRequest;
+import com.mobilebanking.user.dto.UserLookupResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.grpc.v1.BatchGetUsersRequest;
+import com.mobilebanking.user.grpc.v1.BatchGetUsersResponse;
+import com.mobilebanking.user.grpc.v1.GetUserRequest;
+import com.mobilebanking.user.grpc.v1.GetUserStatusRequest;
+import com.mobilebanking.user.grpc.v1.KycStatus;
+import com.mobilebanking.user.grpc.v1.User;
+import com.mobilebanking.user.grpc.v1.UserKey;
+import com.mobilebanking.user.grpc.v1.UserLookupServiceGrpc;
+import com.mobilebanking.user.grpc.v1.UserStatus;
+import com.mobilebanking.user.grpc.v1.UserStatusInfo;
+import com.mobilebanking.user.service.UserService;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * gRPC counterpart of the user lookups in {@link UserController}, served by the gRPC server
+ * (see {@code GrpcServerConfig}). Every call goes through {@link UserService}, so the user cache
+ * is shared with the REST API. {@code BatchGetUsers} pulls the next request message only once the
+ * previous response could be sent, so a slow reader holds back its own stream rather than
+ * buffering responses on the server.
+ */
+@Component
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+@Slf4j
+public class UserGrpcService extends UserLookupServiceGrpc.UserLookupServiceImplBase {
+
+    static final Metadata.Key<String> ERROR_CODE_KEY = Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final int MAX_BATCH_KEYS = 2000;
+
+    private final UserService userService;
+
+    public UserGrpcService(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        respond(responseObserver, () -> toProto(findUser(request.getKey())));
+    }
+
+    @Override
+    public void getUserStatus(GetUserStatusRequest request, StreamObserver<UserStatusInfo> responseObserver) {
+        respond(responseObserver, () -> {
+            UserResponse user = findUser(request.getKey());
+            UserStatusInfo.Builder status = UserStatusInfo.newBuilder()
+                    .setId(user.getId().toString())
+                    .setAuthId(user.getAuthId().toString())
+                    .setStatus(toProto(user.getStatus()))
+                    .setKycStatus(toProto(user.getKycStatus()));
+            if (user.getVersion() != null) {
+                status.setVersion(user.getVersion());
+            }
+            return status.build();
+        });
+    }
+
+    @Override
+    public StreamObserver<BatchGetUsersRequest> batchGetUsers(StreamObserver<BatchGetUsersResponse> responseObserver) {
+        ServerCallStreamObserver<BatchGetUsersResponse> responses =
+                (ServerCallStreamObserver<BatchGetUsersResponse>) responseObserver;
+        responses.disableAutoRequest();
+        responses.setOnCancelHandler(() -> log.debug("BatchGetUsers cancelled by client"));
+        OnReadyHandler onReady = new OnReadyHandler(responses);
+        responses.setOnReadyHandler(onReady);
+
+        // Callbacks of one call never run concurrently, so the plain fields need no synchronization
+        return new StreamObserver<>() {
+
+            private boolean closed;
+
+            @Override
+            public void onNext(BatchGetUsersRequest request) {
+                if (closed) {
+                    return;
+                }
+                try {
+                    responses.onNext(lookup(request));
+                } catch (RuntimeException e) {
+                    closed = true;
+                    responses.onError(toStatusException(e));
+                    return;
+                }
+                if (responses.isReady()) {
+                    responses.request(1);
+                } else {
+                    onReady.wasReady = false;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("BatchGetUsers stream failed: {}", Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!closed) {
+                    closed = true;
+                    responses.onCompleted();
+                }
+            }
+        };
+    }
+
+    /** Requests the first message, and the next one whenever a full outbound buffer drains. */
+    private static final class OnReadyHandler implements Runnable {
+
+        private final ServerCallStreamObserver<?> responses;
+        private boolean wasReady;
+
+        OnReadyHandler(ServerCallStreamObserver<?> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void run() {
+            if (responses.isReady() && !wasReady) {
+                wasReady = true;
+                responses.request(1);
+            }
+        }
+    }
+
+    private UserResponse findUser(UserKey key) {
+        return switch (key.getKeyCase()) {
+            case ID -> userService.getUserById(parseUuid(key.getId(), "id"));
+            case AUTH_ID -> userService.getUserByAuthId(parseUuid(key.getAuthId(), "auth_id"));
+            case KEY_NOT_SET -> throw Status.INVALID_ARGUMENT
+                    .withDescription("Either id or auth_id is required")
+                    .asRuntimeException();
+        };
+    }
+
+    private BatchGetUsersResponse lookup(BatchGetUsersRequest request) {
+        checkBatchSize(request.getIdsCount(), "ids");
+        checkBatchSize(request.getAuthIdsCount(), "auth_ids");
+        checkBatchSize(request.getAccountNumbersCount(), "account_numbers");
+
+        UserLookupResponse found = userService.lookupUsers(UserLookupRequest.builder()
+                .ids(request.getIdsList().stream().map(id -> parseUuid(id, "ids")).toList())
+                .authIds(request.getAuthIdsList().stream().map(id -> parseUuid(id, "auth_ids")).toList())
+                .accountNumbers(request.getAccountNumbersList())
+                .build());
+
+        BatchGetUsersResponse.Builder response = BatchGetUsersResponse.newBuilder();
+        found.getById().forEach((id, user) -> response.putById(id.toString(), toProto(user)));
+        found.getByAuthId().forEach((authId, user) -> response.putByAuthId(authId.toString(), toProto(user)));
+        found.getByAccountNumber().forEach((number, user) -> response.putByAccountNumber(number, toProto(user)));
+        return response
+                .addAllNotFoundIds(toStrings(found.getNotFoundIds()))
+                .addAllNotFoundAuthIds(toStrings(found.getNotFoundAuthIds()))
+                .addAllNotFoundAccountNumbers(found.getNotFoundAccountNumbers())
+                .build();
+    }
+
+    private static void checkBatchSize(int count, String field) {
+        if (count > MAX_BATCH_KEYS) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("At most " + MAX_BATCH_KEYS + " " + field + " may be looked up at once")
+                    .asRuntimeException();
+        }
+    }
+
+    private static UUID parseUuid(String value, String field) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("Invalid UUID in " + field + ": " + value)
+                    .asRuntimeException();
+        }
+    }
+
+    private static List<String> toStrings(List<UUID> ids) {
+        return ids.stream().map(UUID::toString).toList();
+    }
+
+    private static <T> void respond(StreamObserver<T> responseObserver, Supplier<T> call) {
+        T response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatusException(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private static StatusRuntimeException toStatusException(RuntimeException e) {
+        if (e instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        if (e instanceof UserException userException) {
+            Metadata trailers = new Metadata();
+            trailers.put(ERROR_CODE_KEY, userException.getErrorCode());
+            return toStatus(userException).withDescription(userException.getMessage()).asRuntimeException(trailers);
+        }
+        if (e instanceof TransientDataAccessException) {
+            log.warn("Transient database failure in gRPC call: {}", e.getMessage());
+            return Status.UNAVAILABLE.withDescription("Temporarily unavailable").asRuntimeException();
+        }
+        log.error("Unexpected error in gRPC call", e);
+        return Status.INTERNAL.withDescription("An unexpected error occurred").asRuntimeException();
+    }
+
+    private static Status toStatus(UserException e) {
+        return switch (e.getStatus()) {
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case CONFLICT -> Status.ALREADY_EXISTS;
+            case FORBIDDEN -> Status.PERMISSION_DENIED;
+            case PRECONDITION_FAILED -> Status.FAILED_PRECONDITION;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> Status.UNKNOWN;
+        };
+    }
+
+    static User toProto(UserResponse user) {
+        User.Builder proto = User.newBuilder()
+                .setId(user.getId().toString())
+                .setAuthId(user.getAuthId().toString())
+                .setStatus(toProto(user.getStatus()))
+                .setKycStatus(toProto(user.getKycStatus()));
+        // Protobuf builders reject nulls; absent fields keep their defaults
+        if (user.getEmail() != null) {
+            proto.setEmail(user.getEmail());
+        }
+        if (user.getFirstName() != null) {
+            proto.setFirstName(user.getFirstName());
+        }
+        if (user.getLastName() != null) {
+            proto.setLastName(user.getLastName());
+        }
+        if (user.getFullName() != null) {
+            proto.setFullName(user.getFullName());
+        }
+        if (user.getPhoneNumber() != null) {
+            proto.setPhoneNumber(user.getPhoneNumber());
+        }
+        if (user.getDateOfBirth() != null) {
+            proto.setDateOfBirth(user.getDateOfBirth().toString());
+        }
+        if (user.getAccountNumber() != null) {
+            proto.setAccountNumber(user.getAccountNumber());
+        }
+        if (user.getCurrency() != null) {
+            proto.setCurrency(user.getCurrency());
+        }
+        if (user.getCreatedAt() != null) {
+            proto.setCreatedAt(toTimestamp(user.getCreatedAt()));
+        }
+        if (user.getUpdatedAt() != null) {
+            proto.setUpdatedAt(toTimestamp(user.getUpdatedAt()));
+        }
+        if (user.getVersion() != null) {
+            proto.setVersion(user.getVersion());
+        }
+        return proto.build();
+    }
+
+    // Proto enum constants carry their type as a prefix but otherwise match the entity enums
+    private static UserStatus toProto(com.mobilebanking.user.entity.UserStatus status) {
+        return status == null ? UserStatus.USER_STATUS_UNSPECIFIED : UserStatus.valueOf("USER_STATUS_" + status.name());
+    }
+
+    private static KycStatus toProto(com.mobilebanking.user.entity.KycStatus status) {
+        return status == null ? KycStatus.KYC_STATUS_UNSPECIFIED : KycStatus.valueOf("KYC_STATUS_" + status.name());
+    }
+
+    /** Timestamps are stored in UTC (hibernate.jdbc.time_zone). */
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        Instant instant = dateTime.toInstant(ZoneOffset.UTC);
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
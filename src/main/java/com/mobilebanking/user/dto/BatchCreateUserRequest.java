@@ -0,0 +1,25 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch create users request payload")
+public class BatchCreateUserRequest {
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 5000, message = "A batch must not exceed 5000 users")
+    @Schema(description = "Users to create")
+    private List<@Valid CreateUserRequest> users;
+}
@@ -0,0 +1,29 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch create users response")
+public class BatchCreateUserResponse {
+
+    @Schema(description = "Number of users requested", example = "1000")
+    private int requested;
+
+    @Schema(description = "Number of users created", example = "998")
+    private int created;
+
+    @Schema(description = "Number of users rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-item results in request order")
+    private List<BatchCreateUserResult> results;
+}
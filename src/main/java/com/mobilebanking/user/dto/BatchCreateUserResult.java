@@ -0,0 +1,32 @@
+package com.mobilebanking.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome for a single item of a batch create")
+public class BatchCreateUserResult {
+
+    @Schema(description = "Position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Whether the user was created", example = "true")
+    private boolean success;
+
+    @Schema(description = "Created user")
+    private UserResponse user;
+
+    @Schema(description = "Error code if the user was not created", example = "USER_003")
+    private String errorCode;
+
+    @Schema(description = "Error message if the user was not created", example = "Email already registered")
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-paginated result without a total count")
+public class CursorPage<T> {
+
+    @Schema(description = "Items in this page")
+    private List<T> content;
+
+    @Schema(description = "Number of items in this page", example = "20")
+    private int size;
+
+    @Schema(description = "Whether more items follow this page", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Opaque cursor for the next page; absent on the last page")
+    private String nextCursor;
+}
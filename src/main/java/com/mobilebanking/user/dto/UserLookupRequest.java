@@ -0,0 +1,31 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Multi-get lookup request; any combination of key types may be given")
+public class UserLookupRequest {
+
+    @Size(max = 2000, message = "At most 2000 IDs may be looked up at once")
+    @Schema(description = "User IDs")
+    private List<UUID> ids;
+
+    @Size(max = 2000, message = "At most 2000 auth IDs may be looked up at once")
+    @Schema(description = "Auth IDs")
+    private List<UUID> authIds;
+
+    @Size(max = 2000, message = "At most 2000 account numbers may be looked up at once")
+    @Schema(description = "Account numbers")
+    private List<String> accountNumbers;
+}
@@ -0,0 +1,37 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Multi-get lookup response keyed by the requested keys")
+public class UserLookupResponse {
+
+    @Schema(description = "Users found, keyed by user ID")
+    private Map<UUID, UserResponse> byId;
+
+    @Schema(description = "Users found, keyed by auth ID")
+    private Map<UUID, UserResponse> byAuthId;
+
+    @Schema(description = "Users found, keyed by account number")
+    private Map<String, UserResponse> byAccountNumber;
+
+    @Schema(description = "Requested user IDs that were not found")
+    private List<UUID> notFoundIds;
+
+    @Schema(description = "Requested auth IDs that were not found")
+    private List<UUID> notFoundAuthIds;
+
+    @Schema(description = "Requested account numbers that were not found")
+    private List<String> notFoundAccountNumbers;
+}
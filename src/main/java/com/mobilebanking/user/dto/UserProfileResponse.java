@@ -1,5 +1,6 @@
 package com.mobilebanking.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -75,4 +76,8 @@ public class UserProfileResponse {
 
     @Schema(description = "Updated timestamp")
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
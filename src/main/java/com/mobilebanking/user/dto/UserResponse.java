@@ -1,5 +1,6 @@
 package com.mobilebanking.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mobilebanking.user.entity.KycStatus;
 import com.mobilebanking.user.entity.UserStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -60,4 +61,8 @@ public class UserResponse {
 
     @Schema(description = "Updated timestamp")
     private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private Long version;
 }
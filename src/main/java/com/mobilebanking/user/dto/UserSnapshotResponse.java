@@ -0,0 +1,33 @@
+package com.mobilebanking.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "User, profile and recent status history in one response; sections not requested are omitted")
+public class UserSnapshotResponse {
+
+    @Schema(description = "User")
+    private UserResponse user;
+
+    @Schema(description = "Profile; omitted when not requested or when the user has no profile")
+    private UserProfileResponse profile;
+
+    @Schema(description = "Most recent status changes, newest first")
+    private List<StatusHistoryResponse> statusHistory;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String etag;
+}
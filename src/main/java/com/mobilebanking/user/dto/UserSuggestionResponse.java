@@ -0,0 +1,29 @@
+package com.mobilebanking.user.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Typeahead suggestion")
+public class UserSuggestionResponse {
+
+    @Schema(description = "User ID", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Full name", example = "John Doe")
+    private String fullName;
+
+    @Schema(description = "Email address", example = "john.doe@example.com")
+    private String email;
+
+    @Schema(description = "Phone number", example = "+14155551234")
+    private String phoneNumber;
+}
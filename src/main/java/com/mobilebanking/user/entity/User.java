@@ -13,7 +13,7 @@ import java.util.UUID;
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_auth_id", columnList = "authId", unique = true),
     @Index(name = "idx_users_email", columnList = "email", unique = true),
-    @Index(name = "idx_users_phone", columnList = "phoneNumber")
+    @Index(name = "idx_users_phone", columnList = "phoneNumber", unique = true)
 })
 @Getter
 @Setter
@@ -38,7 +38,7 @@ public class User {
     @Column(nullable = false, length = 50)
     private String lastName;
 
-    @Column(length = 20)
+    @Column(length = 20, unique = true)
     private String phoneNumber;
 
     private LocalDate dateOfBirth;
@@ -71,6 +71,9 @@ public class User {
     @Version
     private Long version;
 
+    @Column(columnDefinition = "TEXT", insertable = false, updatable = false)
+    private String searchText;
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
@@ -9,8 +9,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "user_status_history", indexes = {
-    @Index(name = "idx_user_status_history_user_id", columnList = "user_id"),
-    @Index(name = "idx_user_status_history_changed_at", columnList = "changedAt")
+    @Index(name = "idx_user_status_history_user_changed_at", columnList = "user_id, changedAt DESC, id DESC")
 })
 @Getter
 @Setter
@@ -0,0 +1,48 @@
+package com.mobilebanking.user.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Maps database constraint violations raised by inserts and updates onto the matching
+ * {@link UserException}, so uniqueness is enforced by the database rather than by
+ * check-then-act queries.
+ */
+public final class ConstraintViolations {
+
+    private static final Map<String, Supplier<UserException>> BY_CONSTRAINT = Map.of(
+            "users_auth_id_key", UserException::authIdAlreadyExists,
+            "users_email_key", UserException::emailAlreadyExists,
+            "idx_users_phone", UserException::phoneAlreadyExists,
+            "user_profiles_user_id_fkey", UserException::userNotFound
+    );
+
+    private ConstraintViolations() {
+    }
+
+    public static RuntimeException translate(DataIntegrityViolationException ex) {
+        String constraint = constraintName(ex);
+        Supplier<UserException> translated = constraint != null ? BY_CONSTRAINT.get(constraint) : null;
+        return translated != null ? translated.get() : ex;
+    }
+
+    public static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+            if (cause instanceof PSQLException psqlException) {
+                ServerErrorMessage message = psqlException.getServerErrorMessage();
+                if (message != null && message.getConstraint() != null) {
+                    return message.getConstraint();
+                }
+            }
+        }
+        return null;
+    }
+}
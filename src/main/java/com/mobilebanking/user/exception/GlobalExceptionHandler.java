@@ -3,6 +3,8 @@ package com.mobilebanking.user.exception;
 import com.mobilebanking.user.dto.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -52,6 +54,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest request) {
+        RuntimeException translated = ConstraintViolations.translate(ex);
+        if (translated instanceof UserException userException) {
+            return handleUserException(userException, request);
+        }
+
+        log.warn("Data integrity violation on constraint {}", ConstraintViolations.constraintName(ex));
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(false)
+                .message("Request conflicts with existing data")
+                .errors(Map.of("code", "DATA_CONFLICT"))
+                .path(request.getRequestURI())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /** A concurrent write won the race on a {@code @Version} column between our read and flush. */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        if (request.getHeader("If-Match") != null) {
+            return handleUserException(UserException.preconditionFailed(), request);
+        }
+
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(false)
+                .message("Resource was modified concurrently; retry the request")
+                .errors(Map.of("code", "CONCURRENT_MODIFICATION"))
+                .path(request.getRequestURI())
+                .build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGenericException(Exception ex, HttpServletRequest request) {
         log.error("Unexpected error: ", ex);
@@ -50,4 +50,20 @@ public class UserException extends RuntimeException {
     public static UserException userInactive() {
         return new UserException("User account is not active", HttpStatus.FORBIDDEN, "USER_008");
     }
+
+    public static UserException invalidSearchParameters(String message) {
+        return new UserException(message, HttpStatus.BAD_REQUEST, "USER_009");
+    }
+
+    public static UserException suggestionsUnavailable() {
+        return new UserException("Suggestion index is still loading", HttpStatus.SERVICE_UNAVAILABLE, "USER_010");
+    }
+
+    public static UserException invalidCursor() {
+        return new UserException("Invalid pagination cursor", HttpStatus.BAD_REQUEST, "USER_011");
+    }
+
+    public static UserException preconditionFailed() {
+        return new UserException("Resource has changed since the given ETag", HttpStatus.PRECONDITION_FAILED, "USER_012");
+    }
 }
@@ -0,0 +1,84 @@
+package com.mobilebanking.user.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * datasource-proxy listener that attributes every statement execution to the current request
+ * ({@link RequestQueryStats}) and logs executions slower than the threshold. The slow query log
+ * shows parameter types and string lengths, never values, because binds carry personal data.
+ */
+@Slf4j
+public class QueryInstrumentationListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "startNanos";
+
+    private final long slowQueryThresholdNanos;
+    private final QueryPlanSampler planSampler;
+
+    public QueryInstrumentationListener(Duration slowQueryThreshold, QueryPlanSampler planSampler) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.planSampler = planSampler;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.record(elapsed);
+        }
+
+        if (elapsed >= slowQueryThresholdNanos && !queryInfoList.isEmpty()) {
+            QueryInfo query = queryInfoList.get(0);
+            List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of()
+                    : query.getParametersList().get(0);
+            log.warn("Slow query took {} ms{}: {} params {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "",
+                    query.getQuery(),
+                    shapes(parameters));
+            if (planSampler != null && !execInfo.isBatch() && queryInfoList.size() == 1) {
+                planSampler.offer(query.getQuery(), parameters);
+            }
+        }
+    }
+
+    static String shapes(List<ParameterSetOperation> parameters) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            if (args == null || args.length < 2 || ParameterSetOperation.isRegisterOutParameterOperation(parameter)) {
+                continue;
+            }
+            Object value = args[1];
+            if (ParameterSetOperation.isSetNullParameterOperation(parameter) || value == null) {
+                joiner.add(args[0] + ":null");
+            } else if (value instanceof CharSequence text) {
+                joiner.add(args[0] + ":String(" + text.length() + ")");
+            } else {
+                joiner.add(args[0] + ":" + value.getClass().getSimpleName());
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mobilebanking.user.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Captures {@code EXPLAIN (ANALYZE, BUFFERS)} for a random sample of slow SELECT statements.
+ * {@code ANALYZE} executes the statement, so only plain table reads are sampled: selects without
+ * a {@code FROM} table, locking reads and anything calling a function with side effects
+ * ({@code nextval}, {@code pg_notify}, ...) are skipped, since a rollback does not undo them all.
+ * Plans are collected on a single background thread against the unproxied data source, inside
+ * a read-only transaction with a statement timeout that is always rolled back. When the queue
+ * is full further samples are dropped rather than adding load to a database that is already slow.
+ */
+@Slf4j
+public class QueryPlanSampler implements AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 16;
+    private static final String STATEMENT_TIMEOUT = "5s";
+
+    private static final Pattern TABLE_READ = Pattern.compile(
+            "^\\s*select\\b.*\\bfrom\\s+(?!\\()[a-z_\"][\\w.\"]*+\\s*+(?!\\()", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SIDE_EFFECTS = Pattern.compile(
+            "\\b(nextval|setval|currval|lastval|pg_notify|txid_current\\w*|pg_current_xact_id\\w*|pg_(try_)?advisory\\w*"
+                    + "|pg_sleep\\w*|pg_cancel_backend|pg_terminate_backend|set_config|dblink\\w*)\\s*\\("
+                    + "|\\bfor\\s+(no\\s+key\\s+)?(update|share|key\\s+share)\\b|\\binto\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+
+    public QueryPlanSampler(DataSource dataSource, double sampleRate) {
+        this.dataSource = dataSource;
+        this.sampleRate = sampleRate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "query-plan-sampler");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    void offer(String sql, List<ParameterSetOperation> parameters) {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate || !isPlainTableRead(sql)) {
+            return;
+        }
+        List<ParameterSetOperation> captured = List.copyOf(parameters);
+        executor.execute(() -> explain(sql, captured));
+    }
+
+    /** A SELECT reading from a table that is safe to execute again under {@code EXPLAIN ANALYZE}. */
+    static boolean isPlainTableRead(String sql) {
+        return TABLE_READ.matcher(sql).find() && !SIDE_EFFECTS.matcher(sql).find();
+    }
+
+    private void explain(String sql, List<ParameterSetOperation> parameters) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (Statement timeout = connection.createStatement()) {
+                timeout.execute("SET LOCAL statement_timeout = '" + STATEMENT_TIMEOUT + "'");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                for (ParameterSetOperation parameter : parameters) {
+                    parameter.getMethod().invoke(statement, parameter.getArgs());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append('\n').append(rs.getString(1));
+                    }
+                }
+                log.warn("Plan for slow query: {}{}", sql, plan);
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            log.debug("Could not capture plan for slow query: {}", sql, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,43 @@
+package com.mobilebanking.user.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds {@code X-DB-Query-Count} and {@code X-DB-Time-Ms} to response bodies written by the
+ * controllers ({@code app.db-stats.response-headers=true}). The values cover every statement
+ * executed before the body is serialized.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "app.db-stats.response-headers", havingValue = "true")
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT_HEADER = "X-DB-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-DB-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, Integer.toString(stats.getStatements()));
+            response.getHeaders().set(QUERY_TIME_HEADER,
+                    Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getNanos())));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mobilebanking.user.metrics;
+
+/**
+ * JDBC statement count and time for the HTTP request bound to the current thread. Bound by
+ * {@link QueryStatsFilter}; statements executed on other threads are not attributed to a request.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
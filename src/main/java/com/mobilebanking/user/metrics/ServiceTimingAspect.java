@@ -0,0 +1,78 @@
+package com.mobilebanking.user.metrics;
+
+import com.mobilebanking.user.exception.UserException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code @Service} classes as {@code user.service.operation},
+ * tagged with class, method, outcome and error code ({@link UserException#getErrorCode()}, or the
+ * exception type for anything else). Percentiles and SLO buckets are configured under
+ * {@code management.metrics.distribution} in {@code application.yml}.
+ * <p>
+ * Runs outside the transaction advice, so commit time is part of the measurement.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTimingAspect {
+
+    static final String METRIC_NAME = "user.service.operation";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.mobilebanking.user.service..*) "
+            + "&& @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(m, "success", NONE))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            String outcome = e instanceof UserException userException && userException.getStatus().is4xxClientError()
+                    ? "client_error"
+                    : "server_error";
+            String errorCode = e instanceof UserException userException
+                    ? userException.getErrorCode()
+                    : e.getClass().getSimpleName();
+            timer(method, outcome, errorCode)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String outcome, String errorCode) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latency of service operations")
+                .tags(Tags.of(
+                        "class", method.getDeclaringClass().getSimpleName(),
+                        "method", method.getName(),
+                        "outcome", outcome,
+                        "error.code", errorCode))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.mobilebanking.user.repository;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Updates only the supplied columns, and only when at least one of them differs from the stored
+ * value, returning the row either way:
+ * <pre>
+ * UPDATE t SET a = :a, ... WHERE key = :key AND (a IS DISTINCT FROM :a OR ...) RETURNING *, true AS changed
+ * -- when that wrote nothing:
+ * SELECT t.*, false AS changed FROM t WHERE key = :key FOR UPDATE
+ * </pre>
+ * When nothing differs no row is written, so neither the version nor the {@code updated_at}
+ * trigger moves. Null values mean "not supplied" and are skipped. Conditions added with
+ * {@link #expect} guard only the update, so a row that fails them is returned unchanged.
+ * <p>
+ * The unchanged row is read by a separate locking statement rather than from the update's
+ * snapshot: an update that waited on a concurrent writer and then found its conditions false
+ * would otherwise return the row as it was before that writer committed. Callers run inside a
+ * transaction, so the returned row stays current until they commit.
+ */
+final class PartialUpdate {
+
+    private final String table;
+    private final String keyColumn;
+    private final MapSqlParameterSource parameters = new MapSqlParameterSource();
+    private final List<String> columns = new ArrayList<>();
+    private final List<String> extraAssignments = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+
+    private PartialUpdate(String table, String keyColumn, Object key) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        parameters.addValue("key", key);
+    }
+
+    static PartialUpdate of(String table, String keyColumn, Object key) {
+        return new PartialUpdate(table, keyColumn, key);
+    }
+
+    PartialUpdate set(String column, Object value) {
+        if (value != null) {
+            columns.add(column);
+            parameters.addValue(column, value);
+        }
+        return this;
+    }
+
+    /** Assignment applied only when the row is written, e.g. {@code version = version + 1}. */
+    PartialUpdate onChange(String assignment) {
+        extraAssignments.add(assignment);
+        return this;
+    }
+
+    /** Writes only if {@code column} still holds {@code value}, e.g. the version from {@code If-Match}. */
+    PartialUpdate expect(String column, Object value) {
+        conditions.add(column + " = :expected_" + column);
+        parameters.addValue("expected_" + column, value);
+        return this;
+    }
+
+    <T> Optional<PatchResult<T>> execute(NamedParameterJdbcTemplate jdbcTemplate, RowMapper<T> rowMapper) {
+        RowMapper<PatchResult<T>> resultMapper =
+                (rs, rowNum) -> new PatchResult<>(rowMapper.mapRow(rs, rowNum), rs.getBoolean("changed"));
+        if (!columns.isEmpty()) {
+            List<PatchResult<T>> updated = jdbcTemplate.query(updateSql(), parameters, resultMapper);
+            if (!updated.isEmpty()) {
+                return Optional.of(updated.get(0));
+            }
+        }
+        return jdbcTemplate.query(currentRowSql(), parameters, resultMapper).stream().findFirst();
+    }
+
+    String updateSql() {
+        StringJoiner assignments = new StringJoiner(", ");
+        StringJoiner differs = new StringJoiner(" OR ", "(", ")");
+        for (String column : columns) {
+            assignments.add(column + " = :" + column);
+            differs.add(column + " IS DISTINCT FROM :" + column);
+        }
+        extraAssignments.forEach(assignments::add);
+        StringBuilder where = new StringBuilder(keyColumn).append(" = :key AND ").append(differs);
+        conditions.forEach(condition -> where.append(" AND ").append(condition));
+        return "UPDATE " + table + " SET " + assignments + " WHERE " + where + " RETURNING *, true AS changed";
+    }
+
+    String currentRowSql() {
+        return "SELECT t.*, false AS changed FROM " + table + " t WHERE t." + keyColumn + " = :key FOR UPDATE";
+    }
+}
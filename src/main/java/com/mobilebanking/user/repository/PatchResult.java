@@ -0,0 +1,8 @@
+package com.mobilebanking.user.repository;
+
+/**
+ * The row after a partial update and whether the update wrote it ({@code false} when every
+ * supplied value already matched).
+ */
+public record PatchResult<T>(T row, boolean changed) {
+}
@@ -0,0 +1,116 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.entity.KycStatus;
+import com.mobilebanking.user.entity.UserStatus;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Read-only R2DBC queries over {@code users} and {@code user_profiles} for the reactive read
+ * server. Rows are mapped straight to response DTOs; no entities or persistence context.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveUserReadRepository {
+
+    private static final String USER_COLUMNS =
+            "id, auth_id, email, first_name, last_name, phone_number, date_of_birth, status, kyc_status, " +
+            "account_number, currency, created_at, updated_at, version";
+
+    private static final String PROFILE_COLUMNS =
+            "id, user_id, address_line1, address_line2, city, state, postal_code, country, avatar_url, national_id, " +
+            "passport_number, occupation, employer, bio, preferred_language, timezone, notifications_enabled, " +
+            "marketing_enabled, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserResponse> findById(UUID id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserReadRepository::toUser)
+                .one();
+    }
+
+    public Mono<UserResponse> findByAuthId(UUID authId) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE auth_id = :authId")
+                .bind("authId", authId)
+                .map(ReactiveUserReadRepository::toUser)
+                .one();
+    }
+
+    public Flux<UserResponse> findAllById(Collection<UUID> ids) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = ANY(:ids)")
+                .bind("ids", ids.toArray(UUID[]::new))
+                .map(ReactiveUserReadRepository::toUser)
+                .all();
+    }
+
+    public Mono<UserProfileResponse> findProfileByUserId(UUID userId) {
+        return databaseClient.sql("SELECT " + PROFILE_COLUMNS + " FROM user_profiles WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(ReactiveUserReadRepository::toProfile)
+                .one();
+    }
+
+    private static UserResponse toUser(Readable row) {
+        String firstName = row.get("first_name", String.class);
+        String lastName = row.get("last_name", String.class);
+        return UserResponse.builder()
+                .id(row.get("id", UUID.class))
+                .authId(row.get("auth_id", UUID.class))
+                .email(row.get("email", String.class))
+                .firstName(firstName)
+                .lastName(lastName)
+                .fullName(firstName + " " + lastName)
+                .phoneNumber(row.get("phone_number", String.class))
+                .dateOfBirth(row.get("date_of_birth", LocalDate.class))
+                .status(UserStatus.valueOf(row.get("status", String.class)))
+                .kycStatus(KycStatus.valueOf(row.get("kyc_status", String.class)))
+                .accountNumber(row.get("account_number", String.class))
+                .currency(row.get("currency", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static UserProfileResponse toProfile(Readable row) {
+        return UserProfileResponse.builder()
+                .id(row.get("id", UUID.class))
+                .userId(row.get("user_id", UUID.class))
+                .addressLine1(row.get("address_line1", String.class))
+                .addressLine2(row.get("address_line2", String.class))
+                .city(row.get("city", String.class))
+                .state(row.get("state", String.class))
+                .postalCode(row.get("postal_code", String.class))
+                .country(row.get("country", String.class))
+                .avatarUrl(row.get("avatar_url", String.class))
+                .nationalId(row.get("national_id", String.class))
+                .passportNumber(row.get("passport_number", String.class))
+                .occupation(row.get("occupation", String.class))
+                .employer(row.get("employer", String.class))
+                .bio(row.get("bio", String.class))
+                .preferredLanguage(row.get("preferred_language", String.class))
+                .timezone(row.get("timezone", String.class))
+                .notificationsEnabled(row.get("notifications_enabled", Boolean.class))
+                .marketingEnabled(row.get("marketing_enabled", Boolean.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.mobilebanking.user.repository;
+
+import java.util.UUID;
+
+/**
+ * Identity and optimistic-lock version of a row; the basis of the entity tags on reads and the
+ * precondition on {@code If-Match} writes.
+ */
+public record RowVersion(UUID id, long version) {
+
+    public boolean matches(UUID id, Long version) {
+        return this.id.equals(id) && version != null && this.version == version;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mobilebanking.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Version-only lookups for answering {@code If-None-Match} without reading or serializing the
+ * full representation. Each is a single primary or unique key probe; the latest history id comes
+ * from the front of the {@code (user_id, changed_at DESC, id DESC)} index.
+ */
+@Repository
+public class RowVersionRepository {
+
+    /**
+     * Versions behind a user snapshot. {@code profile} and {@code latestHistoryId} are null when
+     * the user has no profile or no status history.
+     */
+    public record SnapshotVersion(long userVersion, RowVersion profile, UUID latestHistoryId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RowVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<Long> findUserVersion(UUID id) {
+        return jdbcTemplate.queryForList("SELECT version FROM users WHERE id = ?", Long.class, id)
+                .stream().findFirst();
+    }
+
+    public Optional<RowVersion> findProfileVersion(UUID userId) {
+        return jdbcTemplate.query("SELECT id, version FROM user_profiles WHERE user_id = ?",
+                        (rs, rowNum) -> new RowVersion(rs.getObject("id", UUID.class), rs.getLong("version")),
+                        userId)
+                .stream().findFirst();
+    }
+
+    public Optional<SnapshotVersion> findSnapshotVersion(UUID userId) {
+        return jdbcTemplate.query(
+                        "SELECT u.version, p.id AS profile_id, p.version AS profile_version, " +
+                        "(SELECT s.id FROM user_status_history s WHERE s.user_id = u.id " +
+                        "ORDER BY s.changed_at DESC, s.id DESC LIMIT 1) AS latest_history_id " +
+                        "FROM users u LEFT JOIN user_profiles p ON p.user_id = u.id WHERE u.id = ?",
+                        (rs, rowNum) -> {
+                            UUID profileId = rs.getObject("profile_id", UUID.class);
+                            return new SnapshotVersion(rs.getLong("version"),
+                                    profileId == null ? null : new RowVersion(profileId, rs.getLong("profile_version")),
+                                    rs.getObject("latest_history_id", UUID.class));
+                        },
+                        userId)
+                .stream().findFirst();
+    }
+}
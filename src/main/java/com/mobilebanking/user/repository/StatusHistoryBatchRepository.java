@@ -0,0 +1,86 @@
+package com.mobilebanking.user.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Multi-row writes of status history produced by the write-behind journal. Inserts are
+ * idempotent (the row id comes from the journal) and skip users that have been deleted since.
+ */
+@Repository
+public class StatusHistoryBatchRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO user_status_history " +
+            "(id, user_id, previous_status, new_status, reason, changed_by, changed_from_ip, changed_at) " +
+            "SELECT v.id, v.user_id, v.previous_status, v.new_status, v.reason, v.changed_by, v.changed_from_ip, v.changed_at " +
+            "FROM (VALUES ";
+    private static final String INSERT_ROW = "(?::uuid, ?::uuid, ?, ?, ?, ?, ?, ?::timestamp)";
+    private static final String INSERT_SUFFIX =
+            ") AS v(id, user_id, previous_status, new_status, reason, changed_by, changed_from_ip, changed_at) " +
+            "JOIN users u ON u.id = v.user_id " +
+            "ON CONFLICT (id, changed_at) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatusHistoryBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Id of the current database transaction, assigning one if it has not written yet.
+     */
+    public long currentTransactionId() {
+        Long txid = jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+        return txid != null ? txid : 0L;
+    }
+
+    /**
+     * {@code txid_status} for each id: {@code committed}, {@code aborted}, {@code in progress},
+     * or {@code null} once the transaction is too old for the server to know.
+     */
+    public Map<Long, String> transactionStatuses(Collection<Long> transactionIds) {
+        Map<Long, String> statuses = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT x AS txid, txid_status(x) AS status FROM unnest(?::bigint[]) AS x");
+            Array ids = connection.createArrayOf("bigint", transactionIds.toArray());
+            statement.setArray(1, ids);
+            return statement;
+        }, rs -> {
+            statuses.put(rs.getLong("txid"), rs.getString("status"));
+        });
+        return statuses;
+    }
+
+    public int insertAll(List<StatusHistoryRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        StringJoiner values = new StringJoiner(", ", INSERT_PREFIX, INSERT_SUFFIX);
+        for (int i = 0; i < rows.size(); i++) {
+            values.add(INSERT_ROW);
+        }
+        return jdbcTemplate.update(values.toString(), statement -> {
+            int index = 1;
+            for (StatusHistoryRow row : rows) {
+                statement.setObject(index++, row.id());
+                statement.setObject(index++, row.userId());
+                statement.setString(index++, row.previousStatus().name());
+                statement.setString(index++, row.newStatus().name());
+                statement.setString(index++, row.reason());
+                statement.setString(index++, row.changedBy());
+                statement.setString(index++, row.changedFromIp());
+                statement.setObject(index++, row.changedAt());
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.entity.UserStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A {@code user_status_history} row written outside JPA. {@code transactionId} is the
+ * PostgreSQL transaction ({@code txid_current()}) that changed the user's status.
+ */
+public record StatusHistoryRow(
+        UUID id,
+        UUID userId,
+        UserStatus previousStatus,
+        UserStatus newStatus,
+        String reason,
+        String changedBy,
+        String changedFromIp,
+        LocalDateTime changedAt,
+        long transactionId) {
+
+    public StatusHistoryRow withTransactionId(long transactionId) {
+        return new StatusHistoryRow(id, userId, previousStatus, newStatus, reason, changedBy, changedFromIp,
+                changedAt, transactionId);
+    }
+}
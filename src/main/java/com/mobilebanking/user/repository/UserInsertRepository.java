@@ -0,0 +1,61 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.entity.User;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Conflict-tolerant single-row user insert. A row that would violate any unique constraint
+ * (auth ID, email, phone number) is skipped instead of failing the statement, so one lost
+ * race does not abort the surrounding transaction.
+ */
+@Repository
+public class UserInsertRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, auth_id, email, first_name, last_name, phone_number, date_of_birth, " +
+            "status, kyc_status, account_number, currency, created_at, updated_at, version) " +
+            "VALUES (:id, :authId, :email, :firstName, :lastName, :phoneNumber, :dateOfBirth, " +
+            ":status, :kycStatus, :accountNumber, :currency, now() AT TIME ZONE 'UTC', now() AT TIME ZONE 'UTC', 0) " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING created_at, updated_at, version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserInsertRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code user}, assigning its id, timestamps and version. Empty when a row with the
+     * same auth ID, email or phone number already exists.
+     */
+    public Optional<User> insertIfAbsent(User user) {
+        UUID id = user.getId() != null ? user.getId() : UUID.randomUUID();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("authId", user.getAuthId())
+                .addValue("email", user.getEmail())
+                .addValue("firstName", user.getFirstName())
+                .addValue("lastName", user.getLastName())
+                .addValue("phoneNumber", user.getPhoneNumber(), Types.VARCHAR)
+                .addValue("dateOfBirth", user.getDateOfBirth(), Types.DATE)
+                .addValue("status", user.getStatus().name())
+                .addValue("kycStatus", user.getKycStatus().name())
+                .addValue("accountNumber", user.getAccountNumber(), Types.VARCHAR)
+                .addValue("currency", user.getCurrency(), Types.VARCHAR);
+        return jdbcTemplate.query(INSERT_SQL, params, (rs, rowNum) -> {
+            user.setId(id);
+            user.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+            user.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+            user.setVersion(rs.getLong("version"));
+            return user;
+        }).stream().findFirst();
+    }
+}
@@ -0,0 +1,94 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.UpdateUserRequest;
+import com.mobilebanking.user.dto.UserProfileRequest;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.entity.KycStatus;
+import com.mobilebanking.user.entity.User;
+import com.mobilebanking.user.entity.UserStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Partial updates of users and profiles that write only the supplied columns and skip the write
+ * entirely when every supplied value matches the stored one (see {@link PartialUpdate}).
+ * Results are empty when the user or profile does not exist.
+ */
+@Repository
+public class UserPatchRepository {
+
+    /** Detached {@link User} built from a {@code users} row. */
+    private static final RowMapper<User> USER_MAPPER = (rs, rowNum) -> User.builder()
+            .id(rs.getObject("id", UUID.class))
+            .authId(rs.getObject("auth_id", UUID.class))
+            .email(rs.getString("email"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .phoneNumber(rs.getString("phone_number"))
+            .dateOfBirth(rs.getObject("date_of_birth", LocalDate.class))
+            .status(UserStatus.valueOf(rs.getString("status")))
+            .kycStatus(KycStatus.valueOf(rs.getString("kyc_status")))
+            .accountNumber(rs.getString("account_number"))
+            .currency(rs.getString("currency"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .version(rs.getObject("version", Long.class))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserPatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param expected when not null, the update is written only if the row still has this id and
+     *                 version; otherwise the current row is returned unchanged
+     */
+    public Optional<PatchResult<User>> patchUser(UUID id, UpdateUserRequest request, RowVersion expected) {
+        return expecting(PartialUpdate.of("users", "id", id), expected)
+                .set("first_name", request.getFirstName())
+                .set("last_name", request.getLastName())
+                .set("phone_number", request.getPhoneNumber())
+                .set("date_of_birth", request.getDateOfBirth())
+                .set("currency", request.getCurrency())
+                .onChange("version = version + 1")
+                .onChange("updated_at = now() AT TIME ZONE 'UTC'")
+                .execute(jdbcTemplate, USER_MAPPER);
+    }
+
+    public Optional<PatchResult<UserProfileResponse>> patchProfile(UUID userId, UserProfileRequest request,
+                                                                   RowVersion expected) {
+        return expecting(PartialUpdate.of("user_profiles", "user_id", userId), expected)
+                .set("address_line1", request.getAddressLine1())
+                .set("address_line2", request.getAddressLine2())
+                .set("city", request.getCity())
+                .set("state", request.getState())
+                .set("postal_code", request.getPostalCode())
+                .set("country", request.getCountry())
+                .set("national_id", request.getNationalId())
+                .set("passport_number", request.getPassportNumber())
+                .set("occupation", request.getOccupation())
+                .set("employer", request.getEmployer())
+                .set("bio", request.getBio())
+                .set("preferred_language", request.getPreferredLanguage())
+                .set("timezone", request.getTimezone())
+                .set("notifications_enabled", request.getNotificationsEnabled())
+                .set("marketing_enabled", request.getMarketingEnabled())
+                .onChange("version = version + 1")
+                .onChange("updated_at = now() AT TIME ZONE 'UTC'")
+                .execute(jdbcTemplate, UserProfileUpsertRepository.RESPONSE_MAPPER);
+    }
+
+    private static PartialUpdate expecting(PartialUpdate update, RowVersion expected) {
+        return expected == null ? update : update
+                .expect("id", expected.id())
+                .expect("version", expected.version());
+    }
+}
@@ -0,0 +1,151 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.UserProfileRequest;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Creates or partially updates a profile in one statement. Null request fields keep the stored
+ * value (or the column default on insert). An update that would not change any value writes
+ * nothing, so the version and {@code updated_at} stay put. A missing user surfaces as a violation
+ * of {@code user_profiles_user_id_fkey}.
+ */
+@Repository
+public class UserProfileUpsertRepository {
+
+    /** Columns a request may set, with their parameter names; null parameters keep the stored value. */
+    private static final Map<String, String> UPDATABLE_COLUMNS = columns(
+            "address_line1", "addressLine1", "address_line2", "addressLine2", "city", "city", "state", "state",
+            "postal_code", "postalCode", "country", "country", "avatar_url", "avatarUrl", "national_id", "nationalId",
+            "passport_number", "passportNumber", "occupation", "occupation", "employer", "employer", "bio", "bio",
+            "preferred_language", "preferredLanguage", "timezone", "timezone",
+            "notifications_enabled", "notificationsEnabled", "marketing_enabled", "marketingEnabled");
+
+    private static final String UPSERT_SQL;
+
+    static {
+        StringJoiner assignments = new StringJoiner(", ");
+        StringJoiner stored = new StringJoiner(", ", "(", ")");
+        StringJoiner merged = new StringJoiner(", ", "(", ")");
+        UPDATABLE_COLUMNS.forEach((column, parameter) -> {
+            String value = "COALESCE(:" + parameter + ", user_profiles." + column + ")";
+            assignments.add(column + " = " + value);
+            stored.add("user_profiles." + column);
+            merged.add(value);
+        });
+        UPSERT_SQL =
+            "INSERT INTO user_profiles (user_id, address_line1, address_line2, city, state, postal_code, country, " +
+            "avatar_url, national_id, passport_number, occupation, employer, bio, preferred_language, timezone, " +
+            "notifications_enabled, marketing_enabled, created_at, updated_at) " +
+            "VALUES (:userId, :addressLine1, :addressLine2, :city, :state, :postalCode, :country, " +
+            ":avatarUrl, :nationalId, :passportNumber, :occupation, :employer, :bio, COALESCE(:preferredLanguage, 'en'), :timezone, " +
+            "COALESCE(:notificationsEnabled, true), COALESCE(:marketingEnabled, false), " +
+            "now() AT TIME ZONE 'UTC', now() AT TIME ZONE 'UTC') " +
+            "ON CONFLICT (user_id) DO UPDATE SET " + assignments + ", " +
+            "updated_at = now() AT TIME ZONE 'UTC', " +
+            "version = user_profiles.version + 1 " +
+            // Skips the write, and the version bump, when every supplied value is already stored
+            "WHERE " + stored + " IS DISTINCT FROM " + merged + " " +
+            "RETURNING *";
+    }
+
+    private static final String SELECT_SQL = "SELECT * FROM user_profiles WHERE user_id = :userId";
+
+    static final RowMapper<UserProfileResponse> RESPONSE_MAPPER = (rs, rowNum) -> mapProfile(rs, "");
+
+    /** Maps {@code user_profiles} columns read under {@code prefix}, e.g. {@code p_city}. */
+    static UserProfileResponse mapProfile(ResultSet rs, String prefix) throws SQLException {
+        return UserProfileResponse.builder()
+                .id(rs.getObject(prefix + "id", UUID.class))
+                .userId(rs.getObject(prefix + "user_id", UUID.class))
+                .addressLine1(rs.getString(prefix + "address_line1"))
+                .addressLine2(rs.getString(prefix + "address_line2"))
+                .city(rs.getString(prefix + "city"))
+                .state(rs.getString(prefix + "state"))
+                .postalCode(rs.getString(prefix + "postal_code"))
+                .country(rs.getString(prefix + "country"))
+                .avatarUrl(rs.getString(prefix + "avatar_url"))
+                .nationalId(rs.getString(prefix + "national_id"))
+                .passportNumber(rs.getString(prefix + "passport_number"))
+                .occupation(rs.getString(prefix + "occupation"))
+                .employer(rs.getString(prefix + "employer"))
+                .bio(rs.getString(prefix + "bio"))
+                .preferredLanguage(rs.getString(prefix + "preferred_language"))
+                .timezone(rs.getString(prefix + "timezone"))
+                .notificationsEnabled(rs.getObject(prefix + "notifications_enabled", Boolean.class))
+                .marketingEnabled(rs.getObject(prefix + "marketing_enabled", Boolean.class))
+                .createdAt(rs.getObject(prefix + "created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject(prefix + "updated_at", LocalDateTime.class))
+                .version(rs.getObject(prefix + "version", Long.class))
+                .build();
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserProfileUpsertRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public PatchResult<UserProfileResponse> upsert(UUID userId, UserProfileRequest request) {
+        return execute(parameters(userId)
+                .addValue("addressLine1", request.getAddressLine1())
+                .addValue("addressLine2", request.getAddressLine2())
+                .addValue("city", request.getCity())
+                .addValue("state", request.getState())
+                .addValue("postalCode", request.getPostalCode())
+                .addValue("country", request.getCountry())
+                .addValue("nationalId", request.getNationalId())
+                .addValue("passportNumber", request.getPassportNumber())
+                .addValue("occupation", request.getOccupation())
+                .addValue("employer", request.getEmployer())
+                .addValue("bio", request.getBio())
+                .addValue("preferredLanguage", request.getPreferredLanguage())
+                .addValue("timezone", request.getTimezone())
+                .addValue("notificationsEnabled", request.getNotificationsEnabled())
+                .addValue("marketingEnabled", request.getMarketingEnabled()));
+    }
+
+    public PatchResult<UserProfileResponse> upsertAvatar(UUID userId, String avatarUrl) {
+        return execute(parameters(userId)
+                .addValue("avatarUrl", avatarUrl));
+    }
+
+    private PatchResult<UserProfileResponse> execute(MapSqlParameterSource parameters) {
+        List<UserProfileResponse> written = jdbcTemplate.query(UPSERT_SQL, parameters, RESPONSE_MAPPER);
+        if (!written.isEmpty()) {
+            return new PatchResult<>(written.get(0), true);
+        }
+        // ON CONFLICT locked the existing row even though it skipped the update, so this reads
+        // the row the comparison was made against
+        return new PatchResult<>(jdbcTemplate.queryForObject(SELECT_SQL, parameters, RESPONSE_MAPPER), false);
+    }
+
+    /** Every parameter null except the user id; callers override the fields they set. */
+    private static MapSqlParameterSource parameters(UUID userId) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("userId", userId);
+        UPDATABLE_COLUMNS.forEach((column, parameter) -> parameters.addValue(parameter, null,
+                column.endsWith("_enabled") ? Types.BOOLEAN : Types.VARCHAR));
+        return parameters;
+    }
+
+    private static Map<String, String> columns(String... columnsAndParameters) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < columnsAndParameters.length; i += 2) {
+            columns.put(columnsAndParameters[i], columnsAndParameters[i + 1]);
+        }
+        return columns;
+    }
+}
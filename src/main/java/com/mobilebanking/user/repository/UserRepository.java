@@ -1,7 +1,9 @@
 package com.mobilebanking.user.repository;
 
+import com.mobilebanking.user.dto.UserResponse;
 import com.mobilebanking.user.entity.User;
 import com.mobilebanking.user.entity.UserStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,12 +11,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    /**
+     * Builds {@link UserResponse} straight from the row for read-only pages, so no managed
+     * entities (and no dirty-checking snapshots) are created. Argument order follows the
+     * {@code UserResponse} all-args constructor.
+     */
+    String USER_RESPONSE_SELECT = "SELECT new com.mobilebanking.user.dto.UserResponse(" +
+            "u.id, u.authId, u.email, u.firstName, u.lastName, CONCAT(u.firstName, ' ', u.lastName), " +
+            "u.phoneNumber, u.dateOfBirth, u.status, u.kycStatus, u.accountNumber, u.currency, " +
+            "u.createdAt, u.updatedAt, u.version) FROM User u";
+
     Optional<User> findByAuthId(UUID authId);
 
     Optional<User> findByEmail(String email);
@@ -23,19 +39,67 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByAccountNumber(String accountNumber);
 
+    List<User> findByAuthIdIn(Collection<UUID> authIds);
+
+    List<User> findByAccountNumberIn(Collection<String> accountNumbers);
+
     boolean existsByAuthId(UUID authId);
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
 
-    Page<User> findByStatus(UserStatus status, Pageable pageable);
+    @Query("SELECT u.authId FROM User u WHERE u.authId IN :authIds")
+    Set<UUID> findExistingAuthIds(@Param("authIds") Collection<UUID> authIds);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    Set<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query(value = USER_RESPONSE_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findAllResponses(Pageable pageable);
+
+    @Query(value = USER_RESPONSE_SELECT + " WHERE u.status = :status",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.status = :status")
+    Page<UserResponse> findResponsesByStatus(@Param("status") UserStatus status, Pageable pageable);
+
+    List<UserSuggestionSource> findSuggestionSourcesByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    List<UserSuggestionSource> findSuggestionSourcesByIdIn(Collection<UUID> ids);
+
+    @Query(value = USER_RESPONSE_SELECT + " WHERE u.searchText LIKE LOWER(CONCAT('%', :search, '%'))",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.searchText LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<UserResponse> searchUserResponses(@Param("search") String search, Pageable pageable);
+
+    @Query(value = "SELECT u.* FROM users u " +
+                   "WHERE LOWER(:search) <% u.search_text " +
+                   "ORDER BY word_similarity(LOWER(:search), u.search_text) DESC, u.id " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<User> searchUsersRanked(@Param("search") String search, @Param("limit") int limit);
+
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)", nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") String threshold);
+
+    @Query(value = "SELECT * FROM users ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<User> findFirstByCreatedAt(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM users WHERE (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<User> findAfterByCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") UUID id,
+                                    @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM users WHERE status = :status ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<User> findFirstByStatusAndCreatedAt(@Param("status") String status, @Param("limit") int limit);
 
-    @Query("SELECT u FROM User u WHERE " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<User> searchUsers(@Param("search") String search, Pageable pageable);
+    @Query(value = "SELECT * FROM users WHERE status = :status AND (created_at, id) > (:createdAt, :id) " +
+                   "ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<User> findAfterByStatusAndCreatedAt(@Param("status") String status,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             @Param("limit") int limit);
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.status = :status")
     long countByStatus(@Param("status") UserStatus status);
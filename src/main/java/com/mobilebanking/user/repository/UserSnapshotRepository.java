@@ -0,0 +1,147 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.StatusHistoryResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.dto.UserSnapshotResponse;
+import com.mobilebanking.user.entity.KycStatus;
+import com.mobilebanking.user.entity.UserStatus;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a user together with their profile and latest status changes in a single statement.
+ * The profile is a left join and the history a {@code LATERAL ... LIMIT} over
+ * {@code (user_id, changed_at DESC, id DESC)}, so the user and profile columns repeat on each
+ * history row; with no history there is still exactly one row.
+ */
+@Repository
+public class UserSnapshotRepository {
+
+    private static final String USER_COLUMNS =
+            "u.id, u.auth_id, u.email, u.first_name, u.last_name, u.phone_number, u.date_of_birth, u.status, " +
+            "u.kyc_status, u.account_number, u.currency, u.created_at, u.updated_at, u.version";
+
+    private static final String PROFILE_COLUMNS = prefixed("p", "id", "user_id", "address_line1", "address_line2",
+            "city", "state", "postal_code", "country", "avatar_url", "national_id", "passport_number", "occupation",
+            "employer", "bio", "preferred_language", "timezone", "notifications_enabled", "marketing_enabled",
+            "created_at", "updated_at", "version");
+
+    private static final String HISTORY_COLUMNS = prefixed("h", "id", "previous_status", "new_status", "reason",
+            "changed_by", "changed_from_ip", "changed_at");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserSnapshotRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param includeProfile whether to join the profile; when false, or when the user has none,
+     *                       the snapshot's profile is null
+     * @param historyLimit   number of latest status changes to read; 0 leaves the history null
+     */
+    public Optional<UserSnapshotResponse> findSnapshot(UUID id, boolean includeProfile, int historyLimit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(USER_COLUMNS);
+        if (includeProfile) {
+            sql.append(", ").append(PROFILE_COLUMNS);
+        }
+        if (historyLimit > 0) {
+            sql.append(", ").append(HISTORY_COLUMNS);
+        }
+        sql.append(" FROM users u");
+        if (includeProfile) {
+            sql.append(" LEFT JOIN user_profiles p ON p.user_id = u.id");
+        }
+        if (historyLimit > 0) {
+            sql.append(" LEFT JOIN LATERAL (SELECT * FROM user_status_history s WHERE s.user_id = u.id " +
+                       "ORDER BY s.changed_at DESC, s.id DESC LIMIT :historyLimit) h ON true");
+        }
+        sql.append(" WHERE u.id = :id");
+        if (historyLimit > 0) {
+            sql.append(" ORDER BY h.changed_at DESC, h.id DESC");
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource("id", id)
+                .addValue("historyLimit", historyLimit);
+        return Optional.ofNullable(jdbcTemplate.query(sql.toString(), parameters,
+                snapshotExtractor(includeProfile, historyLimit > 0)));
+    }
+
+    private static ResultSetExtractor<UserSnapshotResponse> snapshotExtractor(boolean includeProfile,
+                                                                              boolean includeHistory) {
+        return rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            UserSnapshotResponse snapshot = UserSnapshotResponse.builder()
+                    .user(mapUser(rs))
+                    .build();
+            if (includeProfile && rs.getObject("p_id") != null) {
+                snapshot.setProfile(UserProfileUpsertRepository.mapProfile(rs, "p_"));
+            }
+            if (includeHistory) {
+                List<StatusHistoryResponse> history = new ArrayList<>();
+                do {
+                    if (rs.getObject("h_id") != null) {
+                        history.add(mapHistory(rs));
+                    }
+                } while (rs.next());
+                snapshot.setStatusHistory(history);
+            }
+            return snapshot;
+        };
+    }
+
+    private static UserResponse mapUser(ResultSet rs) throws SQLException {
+        String firstName = rs.getString("first_name");
+        String lastName = rs.getString("last_name");
+        return UserResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .authId(rs.getObject("auth_id", UUID.class))
+                .email(rs.getString("email"))
+                .firstName(firstName)
+                .lastName(lastName)
+                .fullName(firstName + " " + lastName)
+                .phoneNumber(rs.getString("phone_number"))
+                .dateOfBirth(rs.getObject("date_of_birth", LocalDate.class))
+                .status(UserStatus.valueOf(rs.getString("status")))
+                .kycStatus(KycStatus.valueOf(rs.getString("kyc_status")))
+                .accountNumber(rs.getString("account_number"))
+                .currency(rs.getString("currency"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .version(rs.getObject("version", Long.class))
+                .build();
+    }
+
+    private static StatusHistoryResponse mapHistory(ResultSet rs) throws SQLException {
+        return StatusHistoryResponse.builder()
+                .id(rs.getObject("h_id", UUID.class))
+                .previousStatus(UserStatus.valueOf(rs.getString("h_previous_status")))
+                .newStatus(UserStatus.valueOf(rs.getString("h_new_status")))
+                .reason(rs.getString("h_reason"))
+                .changedBy(rs.getString("h_changed_by"))
+                .changedFromIp(rs.getString("h_changed_from_ip"))
+                .changedAt(rs.getObject("h_changed_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static String prefixed(String alias, String... columns) {
+        return Arrays.stream(columns)
+                .map(column -> alias + "." + column + " AS " + alias + "_" + column)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -4,8 +4,12 @@ import com.mobilebanking.user.entity.UserStatusHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -13,5 +17,17 @@ public interface UserStatusHistoryRepository extends JpaRepository<UserStatusHis
 
     Page<UserStatusHistory> findByUserIdOrderByChangedAtDesc(UUID userId, Pageable pageable);
 
+    @Query(value = "SELECT * FROM user_status_history WHERE user_id = :userId " +
+                   "ORDER BY changed_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UserStatusHistory> findLatestByUserId(@Param("userId") UUID userId, @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM user_status_history WHERE user_id = :userId " +
+                   "AND (changed_at, id) < (:changedAt, :id) " +
+                   "ORDER BY changed_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UserStatusHistory> findBeforeByUserId(@Param("userId") UUID userId,
+                                               @Param("changedAt") LocalDateTime changedAt,
+                                               @Param("id") UUID id,
+                                               @Param("limit") int limit);
+
     void deleteByUserId(UUID userId);
 }
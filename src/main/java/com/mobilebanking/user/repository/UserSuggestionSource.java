@@ -0,0 +1,18 @@
+package com.mobilebanking.user.repository;
+
+import java.util.UUID;
+
+public interface UserSuggestionSource {
+
+    UUID getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    Long getVersion();
+}
@@ -0,0 +1,103 @@
+package com.mobilebanking.user.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hands out unique account numbers from blocks reserved on {@code account_number_seq}
+ * (hi/lo). A single {@code nextval} reserves {@code INCREMENT BY} numbers, which are then
+ * served to concurrent callers without locking. When a block runs out, one caller reserves the
+ * next while the others wait for it, so a burst never reserves (and wastes) more than one block.
+ * Numbers left in a block at shutdown are skipped, never reused.
+ */
+@Component
+@Slf4j
+public class AccountNumberAllocator {
+
+    static final int BASE_DIGITS = 11;
+
+    private static final String NEXT_BLOCK_SQL =
+            "SELECT nextval('account_number_seq') AS block_start, s.increment_by AS block_size " +
+            "FROM pg_sequences s WHERE s.schemaname = current_schema() AND s.sequencename = 'account_number_seq'";
+
+    record Block(AtomicLong next, long end) {
+
+        static Block of(long start, long size) {
+            return new Block(new AtomicLong(start), start + size);
+        }
+    }
+
+    private final Supplier<Block> blockSource;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.of(0, 0));
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    @Autowired
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate) {
+        this(() -> jdbcTemplate.queryForObject(NEXT_BLOCK_SQL,
+                (rs, rowNum) -> Block.of(rs.getLong("block_start"), rs.getLong("block_size"))));
+    }
+
+    AccountNumberAllocator(Supplier<Block> blockSource) {
+        this.blockSource = blockSource;
+    }
+
+    public String next() {
+        while (true) {
+            Block block = current.get();
+            long value = block.next().getAndIncrement();
+            if (value < block.end()) {
+                return format(value);
+            }
+
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Callers that queued behind the refilling thread find the new block already installed
+            if (current.get() == exhausted) {
+                Block fresh = blockSource.get();
+                log.debug("Reserved account number block [{}, {})", fresh.next().get(), fresh.end());
+                current.set(fresh);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    static String format(long base) {
+        String raw = Long.toString(base);
+        StringBuilder digits = new StringBuilder(BASE_DIGITS + 1);
+        for (int i = raw.length(); i < BASE_DIGITS; i++) {
+            digits.append('0');
+        }
+        digits.append(raw);
+        return digits.append(luhnCheckDigit(digits)).toString();
+    }
+
+    static int luhnCheckDigit(CharSequence digits) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
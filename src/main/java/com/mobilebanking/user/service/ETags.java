@@ -0,0 +1,87 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.RowVersion;
+import com.mobilebanking.user.repository.RowVersionRepository.SnapshotVersion;
+
+import java.util.UUID;
+
+/**
+ * Strong entity tags of the form {@code "<id>-<version>"}. The id is part of the tag so that a
+ * deleted and recreated row, which starts again at version 0, never matches an old tag.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(UUID id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Tag of a snapshot covering only the sections it includes: the user version, the profile id
+     * and version, and the id of the latest status change (history rows are immutable).
+     */
+    static String snapshot(UUID userId, SnapshotVersion version, boolean includeProfile, boolean includeHistory) {
+        StringBuilder tag = new StringBuilder("\"").append(userId).append('-').append(version.userVersion());
+        if (includeProfile) {
+            RowVersion profile = version.profile();
+            tag.append("-p").append(profile == null ? "none" : shortId(profile.id()) + "." + profile.version());
+        }
+        if (includeHistory) {
+            UUID latest = version.latestHistoryId();
+            tag.append("-h").append(latest == null ? "none" : shortId(latest));
+        }
+        return tag.append('"').toString();
+    }
+
+    /** Weak comparison against an {@code If-None-Match} list, as RFC 9110 requires for GET. */
+    public static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expected row version from an {@code If-Match} header, or null when the header is absent or
+     * {@code *}. Only a single strong tag issued by this service can match; anything else fails.
+     */
+    public static RowVersion parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        int separator = tag.lastIndexOf('-');
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"") || separator < 1) {
+            throw UserException.preconditionFailed();
+        }
+        try {
+            return new RowVersion(UUID.fromString(tag.substring(1, separator)),
+                    Long.parseLong(tag.substring(separator + 1, tag.length() - 1)));
+        } catch (IllegalArgumentException e) {
+            throw UserException.preconditionFailed();
+        }
+    }
+
+    /** Fails the write when the current row is not the one the client's {@code If-Match} named. */
+    static void checkPrecondition(RowVersion expected, UUID id, Long version) {
+        if (expected != null && !expected.matches(id, version)) {
+            throw UserException.preconditionFailed();
+        }
+    }
+
+    private static String shortId(UUID id) {
+        return Long.toHexString(id.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,61 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.dto.CursorPage;
+import com.mobilebanking.user.exception.UserException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Position of the last row returned by a seek-paginated query, ordered by
+ * {@code (timestamp, id)}. Serialized to clients as an opaque URL-safe token.
+ */
+record KeysetCursor(LocalDateTime timestamp, UUID id) {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw UserException.invalidCursor();
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw UserException.invalidCursor();
+        }
+    }
+
+    static void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw UserException.invalidSearchParameters("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows; the extra row only
+     * signals that another page exists.
+     */
+    static <E, T> CursorPage<T> page(List<E> rows, int size, Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> pageRows = hasMore ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .size(pageRows.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.mobilebanking.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.user.repository.StatusHistoryRow;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Append-only local journal for write-behind status history. One line per record:
+ * <pre>
+ * P {json}   prepared: the row, written and fsynced before the user's transaction commits
+ * C {id}     the transaction committed
+ * A {id}     the transaction rolled back
+ * F {id}     the row is in user_status_history
+ * </pre>
+ * Only prepared records are forced to disk; a lost C or A is resolved from the transaction id
+ * and a lost F only causes an idempotent re-insert. Concurrent appenders share one fsync.
+ * <p>
+ * Rows the database permanently rejects are moved to a separate dead-letter file, one JSON
+ * object per line with the row and the error, for manual repair and re-insertion.
+ */
+@Slf4j
+final class StatusHistoryJournal implements AutoCloseable {
+
+    static final String FILE_NAME = "status-history.journal";
+    static final String DEAD_LETTER_FILE_NAME = "status-history.deadletter";
+
+    enum State { PREPARED, COMMITTED }
+
+    record Entry(StatusHistoryRow row, State state) {
+    }
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private long written;
+    private volatile long synced;
+
+    private StatusHistoryJournal(Path file, ObjectMapper objectMapper) throws IOException {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.channel = openForAppend(file);
+        this.written = channel.size();
+        if (written > 0 && !endsWithNewline(file)) {
+            // Terminate a record torn by a crash so the next append starts on its own line
+            written += write(channel, "\n");
+        }
+        this.synced = 0;
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            in.read(last, in.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    static StatusHistoryJournal open(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        return new StatusHistoryJournal(directory.resolve(FILE_NAME), objectMapper);
+    }
+
+    /**
+     * Entries that have not been flushed, in journal order. A torn last line from a crash
+     * mid-append is ignored: its transaction never got past {@code beforeCommit}.
+     */
+    Map<UUID, Entry> replay() throws IOException {
+        Map<UUID, Entry> entries = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.length() < 3 || line.charAt(1) != ' ') {
+                continue;
+            }
+            String payload = line.substring(2);
+            try {
+                switch (line.charAt(0)) {
+                    case 'P' -> {
+                        StatusHistoryRow row = objectMapper.readValue(payload, StatusHistoryRow.class);
+                        entries.putIfAbsent(row.id(), new Entry(row, State.PREPARED));
+                    }
+                    case 'C' -> entries.computeIfPresent(UUID.fromString(payload),
+                            (id, entry) -> new Entry(entry.row(), State.COMMITTED));
+                    case 'A', 'F' -> entries.remove(UUID.fromString(payload));
+                    default -> log.warn("Skipping unknown status history journal record at line {}", i + 1);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable status history journal record at line {}", i + 1, e);
+            }
+        }
+        return entries;
+    }
+
+    void appendPrepared(StatusHistoryRow row) {
+        long position;
+        try {
+            position = append("P " + objectMapper.writeValueAsString(row));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize status history row " + row.id(), e);
+        }
+        sync(position);
+    }
+
+    void appendCommitted(UUID id) {
+        append("C " + id);
+    }
+
+    void appendAborted(UUID id) {
+        append("A " + id);
+    }
+
+    /**
+     * Durably records {@code row} in the dead-letter file. The caller then marks it flushed, so
+     * it leaves the journal only once it is safe in the dead-letter file.
+     */
+    void appendDeadLetter(StatusHistoryRow row, String error) {
+        Path deadLetter = file.resolveSibling(DEAD_LETTER_FILE_NAME);
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("row", row);
+        record.put("error", error);
+        try (FileChannel out = openForAppend(deadLetter)) {
+            write(out, objectMapper.writeValueAsString(record) + "\n");
+            out.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write status history dead letter " + deadLetter, e);
+        }
+    }
+
+    void appendFlushed(Collection<StatusHistoryRow> rows) {
+        StringBuilder lines = new StringBuilder();
+        for (StatusHistoryRow row : rows) {
+            if (!lines.isEmpty()) {
+                lines.append('\n');
+            }
+            lines.append("F ").append(row.id());
+        }
+        if (!lines.isEmpty()) {
+            append(lines.toString());
+        }
+    }
+
+    long size() {
+        synchronized (writeLock) {
+            return written;
+        }
+    }
+
+    /**
+     * Replaces the journal with one holding only the outstanding entries. {@code outstanding} is
+     * called with appends blocked, so it must return every entry not yet flushed, including any
+     * whose prepared record is about to be appended.
+     */
+    void compact(Supplier<Collection<Entry>> outstanding) throws IOException {
+        Path next = file.resolveSibling(FILE_NAME + ".compact");
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                try (FileChannel out = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                    StringBuilder lines = new StringBuilder();
+                    for (Entry entry : outstanding.get()) {
+                        lines.append("P ").append(objectMapper.writeValueAsString(entry.row())).append('\n');
+                        if (entry.state() == State.COMMITTED) {
+                            lines.append("C ").append(entry.row().id()).append('\n');
+                        }
+                    }
+                    write(out, lines.toString());
+                    out.force(true);
+                }
+                Files.move(next, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                channel.close();
+                channel = openForAppend(file);
+                written = channel.size();
+                synced = written;
+            }
+        }
+    }
+
+    private long append(String lines) {
+        synchronized (writeLock) {
+            try {
+                written += write(channel, lines + "\n");
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to status history journal " + file, e);
+            }
+        }
+    }
+
+    private void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (writeLock) {
+                target = written;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync status history journal " + file, e);
+            }
+            synced = target;
+        }
+    }
+
+    private static int write(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return bytes;
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+}
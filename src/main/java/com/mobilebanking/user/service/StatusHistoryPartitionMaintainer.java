@@ -0,0 +1,208 @@
+package com.mobilebanking.user.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code user_status_history} (see {@code V8} migration) in shape:
+ * creates partitions {@code premake-months} ahead and, once a partition ends more than
+ * {@code retention-months} ago, detaches it (left in place as a standalone table for archiving)
+ * or drops it. Runs at startup and then periodically; an advisory lock ensures only one replica
+ * does the work at a time.
+ * <p>
+ * Rows without a monthly partition land in the default partition ({@code V10} migration). When
+ * the partition for their month is created, they are moved into it before it is attached, since
+ * PostgreSQL refuses a partition whose range overlaps rows in the default one.
+ */
+@Component
+@ConditionalOnProperty(name = "app.status-history.partitions.maintenance-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StatusHistoryPartitionMaintainer implements SmartLifecycle {
+
+    static final String PARENT_TABLE = "user_status_history";
+    static final String DEFAULT_PARTITION = PARENT_TABLE + "_default";
+
+    private static final long ADVISORY_LOCK_KEY = 0x7573685f70617274L; // "ush_part"
+    private static final Pattern PARTITION_NAME = Pattern.compile(PARENT_TABLE + "_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM", Locale.ROOT);
+
+    enum RetentionAction { DETACH, DROP }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final AtomicInteger partitionCount = new AtomicInteger();
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public StatusHistoryPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.status-history.partitions.interval:PT6H}") Duration interval,
+            @Value("${app.status-history.partitions.premake-months:3}") int premakeMonths,
+            @Value("${app.status-history.partitions.retention-months:0}") int retentionMonths,
+            @Value("${app.status-history.partitions.retention-action:detach}") String retentionAction) {
+        if (premakeMonths < 1) {
+            throw new IllegalArgumentException("app.status-history.partitions.premake-months must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interval = interval;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = RetentionAction.valueOf(retentionAction.toUpperCase(Locale.ROOT));
+
+        Gauge.builder("status.history.partitions", partitionCount, AtomicInteger::get)
+                .description("Attached monthly partitions of user_status_history")
+                .register(meterRegistry);
+        Gauge.builder("status.history.partitions.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Rows in the default partition of user_status_history, waiting for a monthly partition")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-history-partitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintainSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain(YearMonth.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.warn("Status history partition maintenance failed; retrying in {}", interval, e);
+        }
+    }
+
+    void maintain(YearMonth current) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class,
+                    ADVISORY_LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.debug("Another replica is maintaining status history partitions");
+                return;
+            }
+            // Attaching and detaching lock the parent table; give up rather than queue behind long readers
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+
+            List<YearMonth> existing = attachedPartitions();
+            for (int i = 0; i <= premakeMonths; i++) {
+                YearMonth month = current.plusMonths(i);
+                if (!existing.contains(month)) {
+                    createPartition(month);
+                }
+            }
+
+            if (retentionMonths > 0) {
+                YearMonth oldestKept = current.minusMonths(retentionMonths);
+                for (YearMonth month : existing) {
+                    // A partition is expired once everything in it is older than the retention period
+                    if (!month.plusMonths(1).isAfter(oldestKept)) {
+                        expirePartition(month);
+                    }
+                }
+            }
+            partitionCount.set(attachedPartitions().size());
+            Long defaultRows = jdbcTemplate.queryForObject("SELECT count(*) FROM " + DEFAULT_PARTITION, Long.class);
+            defaultPartitionRows.set(defaultRows != null ? defaultRows : 0L);
+        });
+    }
+
+    private List<YearMonth> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                        "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                        "WHERE p.relname = ? AND n.nspname = current_schema()",
+                        String.class, PARENT_TABLE)
+                .stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        // Blocks inserts into the default partition until the new partition is attached, so no row
+        // for this month can land there after the move
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " (LIKE " + PARENT_TABLE
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE changed_at >= ? AND changed_at < ? RETURNING *) INSERT INTO " + name
+                + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        if (moved > 0) {
+            log.warn("Created status history partition {} and moved {} rows into it from {}", name, moved,
+                    DEFAULT_PARTITION);
+        } else {
+            log.info("Created status history partition {}", name);
+        }
+    }
+
+    private void expirePartition(YearMonth month) {
+        String name = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+        if (retentionAction == RetentionAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped expired status history partition {}", name);
+        } else {
+            log.info("Detached expired status history partition {}; archive and drop it when ready", name);
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_p" + month.format(SUFFIX);
+    }
+}
@@ -1,5 +1,6 @@
 package com.mobilebanking.user.service;
 
+import com.mobilebanking.user.dto.CursorPage;
 import com.mobilebanking.user.dto.StatusHistoryResponse;
 import com.mobilebanking.user.entity.UserStatusHistory;
 import com.mobilebanking.user.repository.UserStatusHistoryRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -25,6 +27,21 @@ public class StatusHistoryService {
                 .map(this::mapToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<StatusHistoryResponse> scrollStatusHistory(UUID userId, String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        List<UserStatusHistory> rows;
+        if (cursor == null) {
+            rows = historyRepository.findLatestByUserId(userId, size + 1);
+        } else {
+            KeysetCursor before = KeysetCursor.decode(cursor);
+            rows = historyRepository.findBeforeByUserId(userId, before.timestamp(), before.id(), size + 1);
+        }
+        return KeysetCursor.page(rows, size,
+                history -> new KeysetCursor(history.getChangedAt(), history.getId()),
+                this::mapToResponse);
+    }
+
     private StatusHistoryResponse mapToResponse(UserStatusHistory history) {
         return StatusHistoryResponse.builder()
                 .id(history.getId())
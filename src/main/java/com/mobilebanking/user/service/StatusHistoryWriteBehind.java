@@ -0,0 +1,391 @@
+package com.mobilebanking.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobilebanking.user.entity.UserStatusHistory;
+import com.mobilebanking.user.repository.StatusHistoryBatchRepository;
+import com.mobilebanking.user.repository.StatusHistoryRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind persistence for status history ({@code app.status-history.write-behind.enabled=true}).
+ * Instead of inserting the history row inside the status update, the row is appended to a local
+ * {@link StatusHistoryJournal} and fsynced just before the transaction commits, together with the
+ * PostgreSQL transaction id. A background thread inserts committed rows in multi-row batches.
+ * <p>
+ * After a crash the journal is replayed on startup; rows whose commit outcome was not recorded
+ * are resolved with {@code txid_status}, so a committed status change never loses its history and
+ * a rolled-back one never gains any. History reads lag writes by up to the flush interval.
+ * <p>
+ * A batch the database rejects for its data (a constraint or data exception) is retried row by
+ * row, and rows that still fail are moved to the journal's dead-letter file, so one bad row
+ * cannot hold back the rows behind it. Any other failure (connection, timeout) re-queues the
+ * batch for the next flush.
+ * <p>
+ * The journal directory has no default and must be an absolute path: it has to outlive the
+ * process, so it belongs on a persistent volume per replica (the Helm chart deploys a StatefulSet
+ * for this), never on the container filesystem.
+ */
+@Component
+@ConditionalOnProperty(name = "app.status-history.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class StatusHistoryWriteBehind implements SmartLifecycle {
+
+    private static final String COMMITTED = "committed";
+    private static final String ABORTED = "aborted";
+    private static final String IN_PROGRESS = "in progress";
+
+    private final StatusHistoryBatchRepository batchRepository;
+    private final ObjectMapper objectMapper;
+    private final Path journalDir;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final long compactAfterBytes;
+
+    /** Prepared in the journal by a transaction of this process that has not completed yet. */
+    private final Map<UUID, StatusHistoryRow> inFlight = new ConcurrentHashMap<>();
+    /** Prepared in the journal with no recorded outcome; resolved from the transaction id. */
+    private final Map<UUID, StatusHistoryRow> inDoubt = new ConcurrentHashMap<>();
+    /** Committed and waiting to be inserted, oldest first. */
+    private final Deque<StatusHistoryRow> ready = new ArrayDeque<>();
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+    private final Counter deadLetterCounter;
+
+    private volatile StatusHistoryJournal journal;
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    public StatusHistoryWriteBehind(
+            StatusHistoryBatchRepository batchRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.status-history.write-behind.journal-dir:}") String journalDir,
+            @Value("${app.status-history.write-behind.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${app.status-history.write-behind.batch-size:500}") int batchSize,
+            @Value("${app.status-history.write-behind.compact-after:16MB}") DataSize compactAfter) {
+        this.batchRepository = batchRepository;
+        this.objectMapper = objectMapper;
+        if (!StringUtils.hasText(journalDir) || !Path.of(journalDir).isAbsolute()) {
+            throw new IllegalStateException("app.status-history.write-behind.journal-dir must be set to an absolute "
+                    + "path on a persistent volume to enable status history write-behind, but was '" + journalDir + "'");
+        }
+        this.journalDir = Path.of(journalDir);
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.compactAfterBytes = compactAfter.toBytes();
+
+        this.flushTimer = Timer.builder("status.history.writebehind.flush")
+                .description("Time to insert one batch of journaled status history")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("status.history.writebehind.flushed")
+                .description("Status history rows inserted from the journal")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("status.history.writebehind.flush.failures")
+                .description("Failed status history flush attempts")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("status.history.writebehind.deadlettered")
+                .description("Status history rows the database rejected, moved to the dead-letter file")
+                .register(meterRegistry);
+        Gauge.builder("status.history.writebehind.pending", this, StatusHistoryWriteBehind::pendingCount)
+                .description("Committed status history rows not yet inserted")
+                .register(meterRegistry);
+        Gauge.builder("status.history.writebehind.lag", this, StatusHistoryWriteBehind::lagSeconds)
+                .description("Age of the oldest committed status history row not yet inserted")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Journals {@code history} as part of the current transaction. Must be called inside a
+     * transaction that changes the user's status.
+     */
+    public void record(UserStatusHistory history) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Status history write-behind requires an active transaction");
+        }
+        StatusHistoryRow row = new StatusHistoryRow(UUID.randomUUID(), history.getUser().getId(),
+                history.getPreviousStatus(), history.getNewStatus(), history.getReason(),
+                history.getChangedBy(), history.getChangedFromIp(), LocalDateTime.now(ZoneOffset.UTC), 0L);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private StatusHistoryRow prepared;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                prepared = row.withTransactionId(batchRepository.currentTransactionId());
+                // Visible to compaction before the append, so a concurrent compaction cannot drop it
+                inFlight.put(prepared.id(), prepared);
+                try {
+                    journal.appendPrepared(prepared);
+                } catch (RuntimeException e) {
+                    inFlight.remove(prepared.id());
+                    throw e;
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (prepared == null) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    synchronized (ready) {
+                        ready.addLast(prepared);
+                    }
+                    inFlight.remove(prepared.id());
+                    journal.appendCommitted(prepared.id());
+                } else if (status == STATUS_ROLLED_BACK) {
+                    inFlight.remove(prepared.id());
+                    journal.appendAborted(prepared.id());
+                } else {
+                    inDoubt.put(prepared.id(), prepared);
+                    inFlight.remove(prepared.id());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        try {
+            journal = StatusHistoryJournal.open(journalDir, objectMapper);
+            Map<UUID, StatusHistoryJournal.Entry> recovered = journal.replay();
+            recovered.values().forEach(entry -> {
+                if (entry.state() == StatusHistoryJournal.State.COMMITTED) {
+                    ready.addLast(entry.row());
+                } else {
+                    inDoubt.put(entry.row().id(), entry.row());
+                }
+            });
+            if (!recovered.isEmpty()) {
+                log.info("Recovered {} unflushed status history rows from {}", recovered.size(), journalDir);
+            }
+            resolveInDoubt();
+            journal.compact(this::outstanding);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open status history journal in " + journalDir, e);
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-history-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Status history write-behind enabled, journal in {}", journalDir);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Status history flusher did not stop in time; remaining rows stay in the journal");
+                flusher.shutdownNow();
+            } else {
+                flushSafely();
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close status history journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so no request can record history while the
+     * journal is closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            flushFailureCounter.increment();
+            log.warn("Status history flush failed; {} rows will be retried", pendingCount(), e);
+        }
+    }
+
+    private void flush() {
+        resolveInDoubt();
+        while (true) {
+            List<StatusHistoryRow> batch = new ArrayList<>(batchSize);
+            synchronized (ready) {
+                while (batch.size() < batchSize && !ready.isEmpty()) {
+                    batch.add(ready.pollFirst());
+                }
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                batchRepository.insertAll(batch);
+                sample.stop(flushTimer);
+                journal.appendFlushed(batch);
+                flushedCounter.increment(batch.size());
+            } catch (DataIntegrityViolationException e) {
+                flushFailureCounter.increment();
+                log.warn("Status history batch of {} rows rejected, retrying row by row: {}",
+                        batch.size(), e.getMostSpecificCause().getMessage());
+                flushRowByRow(batch);
+            } catch (RuntimeException e) {
+                requeue(batch);
+                throw e;
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (journal.size() > compactAfterBytes) {
+            try {
+                journal.compact(this::outstanding);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not compact status history journal", e);
+            }
+        }
+    }
+
+    private void flushRowByRow(List<StatusHistoryRow> batch) {
+        List<StatusHistoryRow> flushed = new ArrayList<>(batch.size());
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                StatusHistoryRow row = batch.get(i);
+                try {
+                    batchRepository.insertAll(List.of(row));
+                    flushed.add(row);
+                } catch (DataIntegrityViolationException e) {
+                    String error = e.getMostSpecificCause().getMessage();
+                    log.error("Status history row {} for user {} rejected, moving it to the dead-letter file: {}",
+                            row.id(), row.userId(), error);
+                    journal.appendDeadLetter(row, error);
+                    flushed.add(row);
+                    deadLetterCounter.increment();
+                } catch (RuntimeException e) {
+                    requeue(batch.subList(i, batch.size()));
+                    throw e;
+                }
+            }
+        } finally {
+            journal.appendFlushed(flushed);
+            flushedCounter.increment(flushed.size());
+        }
+    }
+
+    private void requeue(List<StatusHistoryRow> rows) {
+        synchronized (ready) {
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                ready.addFirst(rows.get(i));
+            }
+        }
+    }
+
+    /**
+     * Settles rows whose transaction outcome was never recorded (a crash between the journal
+     * append and the commit, or a commit with unknown outcome). Rows whose transaction is still
+     * running stay in doubt until the next flush.
+     */
+    private void resolveInDoubt() {
+        List<StatusHistoryRow> candidates = List.copyOf(inDoubt.values());
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Map<Long, String> statuses = batchRepository.transactionStatuses(
+                candidates.stream().map(StatusHistoryRow::transactionId).distinct().toList());
+        for (StatusHistoryRow row : candidates) {
+            String status = statuses.get(row.transactionId());
+            if (IN_PROGRESS.equals(status)) {
+                continue;
+            }
+            if (ABORTED.equals(status)) {
+                journal.appendAborted(row.id());
+            } else {
+                if (!COMMITTED.equals(status)) {
+                    // Too old for the server to know; keep the row rather than risk losing it
+                    log.warn("Outcome of transaction {} for status history {} is unknown, keeping it",
+                            row.transactionId(), row.id());
+                }
+                synchronized (ready) {
+                    ready.addLast(row);
+                }
+                journal.appendCommitted(row.id());
+            }
+            inDoubt.remove(row.id());
+        }
+    }
+
+    private Collection<StatusHistoryJournal.Entry> outstanding() {
+        Map<UUID, StatusHistoryJournal.Entry> entries = new LinkedHashMap<>();
+        synchronized (ready) {
+            ready.forEach(row -> entries.put(row.id(),
+                    new StatusHistoryJournal.Entry(row, StatusHistoryJournal.State.COMMITTED)));
+        }
+        Stream.concat(inFlight.values().stream(), inDoubt.values().stream())
+                .forEach(row -> entries.putIfAbsent(row.id(),
+                        new StatusHistoryJournal.Entry(row, StatusHistoryJournal.State.PREPARED)));
+        return entries.values();
+    }
+
+    private int pendingCount() {
+        synchronized (ready) {
+            return ready.size();
+        }
+    }
+
+    private double lagSeconds() {
+        StatusHistoryRow oldest;
+        synchronized (ready) {
+            oldest = ready.peekFirst();
+        }
+        return oldest == null ? 0 : Duration.between(oldest.changedAt(), LocalDateTime.now(ZoneOffset.UTC)).toMillis() / 1000.0;
+    }
+}
@@ -1,14 +1,22 @@
 package com.mobilebanking.user.service;
 
+import com.mobilebanking.user.cache.CacheInvalidationPublisher;
+import com.mobilebanking.user.cache.EntityType;
+import com.mobilebanking.user.cache.ProfileCache;
 import com.mobilebanking.user.dto.UserProfileRequest;
 import com.mobilebanking.user.dto.UserProfileResponse;
-import com.mobilebanking.user.entity.User;
 import com.mobilebanking.user.entity.UserProfile;
+import com.mobilebanking.user.exception.ConstraintViolations;
 import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.PatchResult;
+import com.mobilebanking.user.repository.RowVersion;
+import com.mobilebanking.user.repository.RowVersionRepository;
+import com.mobilebanking.user.repository.UserPatchRepository;
 import com.mobilebanking.user.repository.UserProfileRepository;
-import com.mobilebanking.user.repository.UserRepository;
+import com.mobilebanking.user.repository.UserProfileUpsertRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,109 +27,111 @@ import java.util.UUID;
 @Slf4j
 public class UserProfileService {
 
-    private final UserRepository userRepository;
     private final UserProfileRepository profileRepository;
+    private final UserProfileUpsertRepository upsertRepository;
+    private final UserPatchRepository patchRepository;
+    private final RowVersionRepository versionRepository;
+    private final ProfileCache profileCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
 
-    @Transactional(readOnly = true)
     public UserProfileResponse getProfile(UUID userId) {
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(UserException::profileNotFound);
-        return mapToResponse(profile);
+        return profileCache.get(userId, () -> profileRepository.findByUserId(userId)
+                .map(UserProfileService::mapToResponse)
+                .orElseThrow(UserException::profileNotFound));
     }
 
+    /**
+     * Current entity tag of a profile, for answering {@code If-None-Match}: taken from the cache
+     * when the profile is cached, otherwise from a version-only unique key lookup.
+     */
+    public String getProfileETag(UUID userId) {
+        return profileCache.getIfPresent(userId)
+                .map(profile -> ETags.of(profile.getId(), profile.getVersion()))
+                .orElseGet(() -> versionRepository.findProfileVersion(userId)
+                        .map(version -> ETags.of(version.id(), version.version()))
+                        .orElseThrow(UserException::profileNotFound));
+    }
+
+    /**
+     * Creates the profile or updates its non-null fields. With an {@code expected} version (from
+     * {@code If-Match}) the profile must already exist, so this becomes a conditional patch.
+     */
     @Transactional
-    public UserProfileResponse createOrUpdateProfile(UUID userId, UserProfileRequest request) {
+    public UserProfileResponse createOrUpdateProfile(UUID userId, UserProfileRequest request, RowVersion expected) {
+        if (expected != null) {
+            return patchProfile(userId, request, expected);
+        }
         log.info("Updating profile for user: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserException::userNotFound);
-
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseGet(() -> UserProfile.builder().user(user).build());
-
-        updateProfileFields(profile, request);
-        profile = profileRepository.save(profile);
+        PatchResult<UserProfileResponse> result;
+        try {
+            result = upsertRepository.upsert(userId, request);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e);
+        }
+        if (result.changed()) {
+            evictOnCommit(userId);
+            log.info("Profile updated for user: {}", userId);
+        } else {
+            log.info("Profile update skipped, nothing changed: {}", userId);
+        }
+        return result.row();
+    }
 
-        log.info("Profile updated for user: {}", userId);
-        return mapToResponse(profile);
+    /**
+     * Applies the non-null fields of {@code request} to an existing profile, writing nothing when
+     * they already hold the same values. A non-null {@code expected} version (from {@code If-Match})
+     * must match the stored profile.
+     */
+    @Transactional
+    public UserProfileResponse patchProfile(UUID userId, UserProfileRequest request, RowVersion expected) {
+        log.info("Patching profile for user: {}", userId);
+
+        PatchResult<UserProfileResponse> result = patchRepository.patchProfile(userId, request, expected)
+                .orElseThrow(() -> expected == null ? UserException.profileNotFound() : UserException.preconditionFailed());
+        if (result.changed()) {
+            evictOnCommit(userId);
+            log.info("Profile patched for user: {}", userId);
+        } else {
+            ETags.checkPrecondition(expected, result.row().getId(), result.row().getVersion());
+            log.info("Profile patch skipped, nothing changed: {}", userId);
+        }
+        return result.row();
     }
 
     @Transactional
     public UserProfileResponse updateAvatar(UUID userId, String avatarUrl) {
         log.info("Updating avatar for user: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserException::userNotFound);
-
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    UserProfile newProfile = UserProfile.builder().user(user).build();
-                    return profileRepository.save(newProfile);
-                });
-
-        profile.setAvatarUrl(avatarUrl);
-        profile = profileRepository.save(profile);
-
-        log.info("Avatar updated for user: {}", userId);
-        return mapToResponse(profile);
+        PatchResult<UserProfileResponse> result;
+        try {
+            result = upsertRepository.upsertAvatar(userId, avatarUrl);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e);
+        }
+        if (result.changed()) {
+            evictOnCommit(userId);
+            log.info("Avatar updated for user: {}", userId);
+        } else {
+            log.info("Avatar update skipped, nothing changed: {}", userId);
+        }
+        return result.row();
     }
 
     @Transactional
     public void deleteProfile(UUID userId) {
         log.info("Deleting profile for user: {}", userId);
         profileRepository.deleteByUserId(userId);
+        evictOnCommit(userId);
         log.info("Profile deleted for user: {}", userId);
     }
 
-    private void updateProfileFields(UserProfile profile, UserProfileRequest request) {
-        if (request.getAddressLine1() != null) {
-            profile.setAddressLine1(request.getAddressLine1());
-        }
-        if (request.getAddressLine2() != null) {
-            profile.setAddressLine2(request.getAddressLine2());
-        }
-        if (request.getCity() != null) {
-            profile.setCity(request.getCity());
-        }
-        if (request.getState() != null) {
-            profile.setState(request.getState());
-        }
-        if (request.getPostalCode() != null) {
-            profile.setPostalCode(request.getPostalCode());
-        }
-        if (request.getCountry() != null) {
-            profile.setCountry(request.getCountry());
-        }
-        if (request.getNationalId() != null) {
-            profile.setNationalId(request.getNationalId());
-        }
-        if (request.getPassportNumber() != null) {
-            profile.setPassportNumber(request.getPassportNumber());
-        }
-        if (request.getOccupation() != null) {
-            profile.setOccupation(request.getOccupation());
-        }
-        if (request.getEmployer() != null) {
-            profile.setEmployer(request.getEmployer());
-        }
-        if (request.getBio() != null) {
-            profile.setBio(request.getBio());
-        }
-        if (request.getPreferredLanguage() != null) {
-            profile.setPreferredLanguage(request.getPreferredLanguage());
-        }
-        if (request.getTimezone() != null) {
-            profile.setTimezone(request.getTimezone());
-        }
-        if (request.getNotificationsEnabled() != null) {
-            profile.setNotificationsEnabled(request.getNotificationsEnabled());
-        }
-        if (request.getMarketingEnabled() != null) {
-            profile.setMarketingEnabled(request.getMarketingEnabled());
-        }
+    private void evictOnCommit(UUID userId) {
+        profileCache.evictOnCommit(userId);
+        invalidationPublisher.publish(EntityType.PROFILE, userId, null);
     }
 
-    private UserProfileResponse mapToResponse(UserProfile profile) {
+    static UserProfileResponse mapToResponse(UserProfile profile) {
         return UserProfileResponse.builder()
                 .id(profile.getId())
                 .userId(profile.getUser().getId())
@@ -143,6 +153,7 @@ public class UserProfileService {
                 .marketingEnabled(profile.getMarketingEnabled())
                 .createdAt(profile.getCreatedAt())
                 .updatedAt(profile.getUpdatedAt())
+                .version(profile.getVersion())
                 .build();
     }
 }
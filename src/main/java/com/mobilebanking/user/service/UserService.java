@@ -1,39 +1,95 @@
 package com.mobilebanking.user.service;
 
+import com.mobilebanking.user.cache.CacheInvalidationPublisher;
+import com.mobilebanking.user.cache.EntityType;
+import com.mobilebanking.user.cache.ProfileCache;
+import com.mobilebanking.user.cache.UserCache;
 import com.mobilebanking.user.dto.*;
 import com.mobilebanking.user.entity.User;
 import com.mobilebanking.user.entity.UserStatus;
 import com.mobilebanking.user.entity.UserStatusHistory;
+import com.mobilebanking.user.exception.ConstraintViolations;
 import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.PatchResult;
+import com.mobilebanking.user.repository.RowVersion;
+import com.mobilebanking.user.repository.RowVersionRepository;
+import com.mobilebanking.user.repository.UserInsertRepository;
+import com.mobilebanking.user.repository.UserPatchRepository;
 import com.mobilebanking.user.repository.UserRepository;
 import com.mobilebanking.user.repository.UserStatusHistoryRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Random;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Slf4j
 public class UserService {
 
+    private static final int MAX_RANKED_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final UserRepository userRepository;
+    private final UserInsertRepository insertRepository;
+    private final UserPatchRepository patchRepository;
+    private final RowVersionRepository versionRepository;
     private final UserStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistoryWriteBehind statusHistoryWriteBehind;
+    private final UserCache userCache;
+    private final ProfileCache profileCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final UserSuggestionIndex suggestionIndex;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final TransactionTemplate transactionTemplate;
     private final Counter userCreatedCounter;
     private final Counter userUpdatedCounter;
+    private final Counter userUpdateSkippedCounter;
     private final Counter statusChangedCounter;
 
     public UserService(
             UserRepository userRepository,
+            UserInsertRepository insertRepository,
+            UserPatchRepository patchRepository,
+            RowVersionRepository versionRepository,
             UserStatusHistoryRepository statusHistoryRepository,
+            UserCache userCache,
+            ProfileCache profileCache,
+            CacheInvalidationPublisher invalidationPublisher,
+            UserSuggestionIndex suggestionIndex,
+            AccountNumberAllocator accountNumberAllocator,
+            ObjectProvider<StatusHistoryWriteBehind> statusHistoryWriteBehind,
+            PlatformTransactionManager transactionManager,
             MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.insertRepository = insertRepository;
+        this.patchRepository = patchRepository;
+        this.versionRepository = versionRepository;
         this.statusHistoryRepository = statusHistoryRepository;
+        this.userCache = userCache;
+        this.profileCache = profileCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.suggestionIndex = suggestionIndex;
+        this.accountNumberAllocator = accountNumberAllocator;
+        this.statusHistoryWriteBehind = statusHistoryWriteBehind.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         
         this.userCreatedCounter = Counter.builder("user.created")
                 .description("Number of users created")
@@ -41,6 +97,9 @@ public class UserService {
         this.userUpdatedCounter = Counter.builder("user.updated")
                 .description("Number of user updates")
                 .register(meterRegistry);
+        this.userUpdateSkippedCounter = Counter.builder("user.update.skipped")
+                .description("Number of user updates skipped because nothing changed")
+                .register(meterRegistry);
         this.statusChangedCounter = Counter.builder("user.status.changed")
                 .description("Number of status changes")
                 .register(meterRegistry);
@@ -50,101 +109,284 @@ public class UserService {
     public UserResponse createUser(CreateUserRequest request) {
         log.info("Creating user with email: {}", request.getEmail());
 
-        if (userRepository.existsByAuthId(request.getAuthId())) {
-            throw UserException.authIdAlreadyExists();
+        // Uniqueness of auth ID, email and phone number is enforced by the database
+        User user;
+        try {
+            user = userRepository.saveAndFlush(newUser(request));
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e);
         }
+        suggestionIndex.indexOnCommit(user);
+        invalidationPublisher.publish(EntityType.USER, user.getId(), user.getVersion());
+        userCreatedCounter.increment();
+        
+        log.info("User created successfully with ID: {}", user.getId());
+        return mapToResponse(user);
+    }
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw UserException.emailAlreadyExists();
+    /**
+     * Creates the valid items of {@code requests} and reports the rest individually. Conflicts are
+     * found up front and the remaining users inserted as one JDBC batch. If a concurrent insert
+     * still wins a uniqueness race, that transaction rolls back and the batch is replayed in a new
+     * one with conflict-tolerant single-row inserts, so every item still gets its own result.
+     */
+    public BatchCreateUserResponse createUsers(List<CreateUserRequest> requests) {
+        log.info("Creating batch of {} users", requests.size());
+        try {
+            return transactionTemplate.execute(status -> createUsersInTransaction(requests, false));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert lost a uniqueness race on {}; retrying row by row",
+                    ConstraintViolations.constraintName(e));
+            return transactionTemplate.execute(status -> createUsersInTransaction(requests, true));
         }
+    }
 
-        if (request.getPhoneNumber() != null && userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw UserException.phoneAlreadyExists();
+    private BatchCreateUserResponse createUsersInTransaction(List<CreateUserRequest> requests, boolean rowByRow) {
+        // Seeded with conflicts already in the database; each accepted item then claims its keys
+        // so that duplicates inside the batch are rejected as well
+        Set<UUID> takenAuthIds = new HashSet<>(userRepository.findExistingAuthIds(
+                requests.stream().map(CreateUserRequest::getAuthId).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                requests.stream().map(CreateUserRequest::getEmail).toList()));
+        Set<String> takenPhoneNumbers = new HashSet<>(userRepository.findExistingPhoneNumbers(
+                requests.stream().map(CreateUserRequest::getPhoneNumber).filter(Objects::nonNull).toList()));
+
+        BatchCreateUserResult[] results = new BatchCreateUserResult[requests.size()];
+        List<User> users = new ArrayList<>(requests.size());
+        List<Integer> userIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateUserRequest request = requests.get(i);
+            UserException conflict = null;
+            if (!takenAuthIds.add(request.getAuthId())) {
+                conflict = UserException.authIdAlreadyExists();
+            } else if (!takenEmails.add(request.getEmail())) {
+                conflict = UserException.emailAlreadyExists();
+            } else if (request.getPhoneNumber() != null && !takenPhoneNumbers.add(request.getPhoneNumber())) {
+                conflict = UserException.phoneAlreadyExists();
+            }
+
+            if (conflict != null) {
+                results[i] = BatchCreateUserResult.builder()
+                        .index(i)
+                        .success(false)
+                        .errorCode(conflict.getErrorCode())
+                        .message(conflict.getMessage())
+                        .build();
+            } else {
+                users.add(newUser(request));
+                userIndexes.add(i);
+            }
         }
 
-        User user = User.builder()
-                .authId(request.getAuthId())
-                .email(request.getEmail())
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .phoneNumber(request.getPhoneNumber())
-                .dateOfBirth(request.getDateOfBirth())
-                .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
-                .status(UserStatus.PENDING_VERIFICATION)
-                .accountNumber(generateAccountNumber())
-                .build();
+        if (rowByRow) {
+            List<User> inserted = new ArrayList<>(users.size());
+            List<Integer> insertedIndexes = new ArrayList<>(users.size());
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                int index = userIndexes.get(i);
+                Optional<User> created;
+                try {
+                    created = insertRepository.insertIfAbsent(user);
+                } catch (DataIntegrityViolationException e) {
+                    throw ConstraintViolations.translate(e);
+                }
+                if (created.isPresent()) {
+                    inserted.add(created.get());
+                    insertedIndexes.add(index);
+                } else {
+                    UserException conflict = conflictOf(user);
+                    results[index] = BatchCreateUserResult.builder()
+                            .index(index)
+                            .success(false)
+                            .errorCode(conflict.getErrorCode())
+                            .message(conflict.getMessage())
+                            .build();
+                }
+            }
+            users = inserted;
+            userIndexes = insertedIndexes;
+        } else {
+            // Ids are generated client-side, so Hibernate can send these as JDBC batches. A unique
+            // violation here means a concurrent insert won a race; the caller replays row by row.
+            users = userRepository.saveAllAndFlush(users);
+        }
 
-        user = userRepository.save(user);
-        userCreatedCounter.increment();
-        
-        log.info("User created successfully with ID: {}", user.getId());
-        return mapToResponse(user);
+        Map<UUID, Long> versionsById = new HashMap<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            int index = userIndexes.get(i);
+            results[index] = BatchCreateUserResult.builder()
+                    .index(index)
+                    .success(true)
+                    .user(mapToResponse(user))
+                    .build();
+            versionsById.put(user.getId(), user.getVersion());
+            suggestionIndex.indexOnCommit(user);
+        }
+        invalidationPublisher.publishAll(EntityType.USER, versionsById);
+        userCreatedCounter.increment(users.size());
+
+        log.info("Batch created {} of {} users", users.size(), requests.size());
+        return BatchCreateUserResponse.builder()
+                .requested(requests.size())
+                .created(users.size())
+                .failed(requests.size() - users.size())
+                .results(List.of(results))
+                .build();
     }
 
-    @Transactional(readOnly = true)
+    // Cached lookups are deliberately not @Transactional so that cache hits never
+    // borrow a connection; the repository call opens its own read-only transaction.
     public UserResponse getUserById(UUID id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(UserException::userNotFound);
-        return mapToResponse(user);
+        return userCache.getById(id, () -> userRepository.findById(id)
+                .map(UserService::mapToResponse)
+                .orElseThrow(UserException::userNotFound));
+    }
+
+    /**
+     * Current entity tag of a user, for answering {@code If-None-Match}: taken from the cache when
+     * the user is cached, otherwise from a version-only primary key lookup.
+     */
+    public String getUserETag(UUID id) {
+        Long version = userCache.getIfPresent(id)
+                .map(UserResponse::getVersion)
+                .orElseGet(() -> versionRepository.findUserVersion(id)
+                        .orElseThrow(UserException::userNotFound));
+        return ETags.of(id, version);
     }
 
-    @Transactional(readOnly = true)
     public UserResponse getUserByAuthId(UUID authId) {
-        User user = userRepository.findByAuthId(authId)
-                .orElseThrow(UserException::userNotFoundByAuthId);
-        return mapToResponse(user);
+        return userCache.getByAuthId(authId, () -> userRepository.findByAuthId(authId)
+                .map(UserService::mapToResponse)
+                .orElseThrow(UserException::userNotFoundByAuthId));
     }
 
-    @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(UserException::userNotFound);
-        return mapToResponse(user);
+        return userCache.getByEmail(email, () -> userRepository.findByEmail(email)
+                .map(UserService::mapToResponse)
+                .orElseThrow(UserException::userNotFound));
+    }
+
+    public UserLookupResponse lookupUsers(UserLookupRequest request) {
+        Set<UUID> ids = distinct(request.getIds());
+        Set<UUID> authIds = distinct(request.getAuthIds());
+        Set<String> accountNumbers = distinct(request.getAccountNumbers());
+
+        Map<UUID, UserResponse> byId = ids.isEmpty() ? Map.of() : userCache.getAllById(ids,
+                missing -> userRepository.findAllById(missing).stream().map(UserService::mapToResponse).toList());
+        Map<UUID, UserResponse> byAuthId = authIds.isEmpty() ? Map.of() : userCache.getAllByAuthId(authIds,
+                missing -> userRepository.findByAuthIdIn(missing).stream().map(UserService::mapToResponse).toList());
+        Map<String, UserResponse> byAccountNumber = new HashMap<>();
+        if (!accountNumbers.isEmpty()) {
+            userRepository.findByAccountNumberIn(accountNumbers)
+                    .forEach(user -> byAccountNumber.put(user.getAccountNumber(), mapToResponse(user)));
+        }
+
+        return UserLookupResponse.builder()
+                .byId(byId)
+                .byAuthId(byAuthId)
+                .byAccountNumber(byAccountNumber)
+                .notFoundIds(ids.stream().filter(id -> !byId.containsKey(id)).toList())
+                .notFoundAuthIds(authIds.stream().filter(authId -> !byAuthId.containsKey(authId)).toList())
+                .notFoundAccountNumbers(accountNumbers.stream().filter(number -> !byAccountNumber.containsKey(number)).toList())
+                .build();
     }
 
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(this::mapToResponse);
+        return userRepository.findAllResponses(pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<UserResponse> getUsersByStatus(UserStatus status, Pageable pageable) {
-        return userRepository.findByStatus(status, pageable).map(this::mapToResponse);
+        return userRepository.findResponsesByStatus(status, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<UserResponse> searchUsers(String search, Pageable pageable) {
-        return userRepository.searchUsers(search, pageable).map(this::mapToResponse);
+    public CursorPage<UserResponse> scrollUsers(String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        List<User> rows;
+        if (cursor == null) {
+            rows = userRepository.findFirstByCreatedAt(size + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = userRepository.findAfterByCreatedAt(after.timestamp(), after.id(), size + 1);
+        }
+        return KeysetCursor.page(rows, size, UserService::cursorOf, UserService::mapToResponse);
     }
 
-    @Transactional
-    public UserResponse updateUser(UUID id, UpdateUserRequest request) {
-        log.info("Updating user with ID: {}", id);
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> scrollUsersByStatus(UserStatus status, String cursor, int size) {
+        KeysetCursor.validateSize(size);
+        List<User> rows;
+        if (cursor == null) {
+            rows = userRepository.findFirstByStatusAndCreatedAt(status.name(), size + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = userRepository.findAfterByStatusAndCreatedAt(status.name(), after.timestamp(), after.id(), size + 1);
+        }
+        return KeysetCursor.page(rows, size, UserService::cursorOf, UserService::mapToResponse);
+    }
 
-        User user = userRepository.findById(id)
-                .orElseThrow(UserException::userNotFound);
+    @Transactional(readOnly = true)
+    public Page<UserResponse> searchUsers(String search, Pageable pageable) {
+        return userRepository.searchUserResponses(search, pageable);
+    }
 
-        if (request.getFirstName() != null) {
-            user.setFirstName(request.getFirstName());
+    @Transactional(readOnly = true)
+    public List<UserResponse> searchUsersRanked(String search, double minSimilarity, int limit) {
+        if (search == null || search.isBlank()) {
+            throw UserException.invalidSearchParameters("Search query must not be blank");
         }
-        if (request.getLastName() != null) {
-            user.setLastName(request.getLastName());
+        if (minSimilarity < 0.0 || minSimilarity > 1.0) {
+            throw UserException.invalidSearchParameters("Minimum similarity must be between 0 and 1");
         }
-        if (request.getPhoneNumber() != null) {
-            if (!request.getPhoneNumber().equals(user.getPhoneNumber()) &&
-                userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-                throw UserException.phoneAlreadyExists();
-            }
-            user.setPhoneNumber(request.getPhoneNumber());
+        if (limit < 1 || limit > MAX_RANKED_SEARCH_RESULTS) {
+            throw UserException.invalidSearchParameters("Limit must be between 1 and " + MAX_RANKED_SEARCH_RESULTS);
+        }
+
+        // Scoped to this transaction, so the pooled connection keeps the server default
+        userRepository.setWordSimilarityThreshold(Double.toString(minSimilarity));
+        return userRepository.searchUsersRanked(search.trim(), limit).stream()
+                .map(UserService::mapToResponse)
+                .toList();
+    }
+
+    public List<UserSuggestionResponse> suggestUsers(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw UserException.invalidSearchParameters("Limit must be between 1 and " + MAX_SUGGESTIONS);
         }
-        if (request.getDateOfBirth() != null) {
-            user.setDateOfBirth(request.getDateOfBirth());
+        return suggestionIndex.suggest(query, limit);
+    }
+
+    /**
+     * Applies the non-null fields of {@code request}. Only those columns are written, and nothing
+     * is written (no version bump, no {@code updated_at} change) when they already hold the same values.
+     * A non-null {@code expected} version (from {@code If-Match}) must match the stored row.
+     */
+    @Transactional
+    public UserResponse updateUser(UUID id, UpdateUserRequest request, RowVersion expected) {
+        log.info("Updating user with ID: {}", id);
+
+        PatchResult<User> result;
+        try {
+            result = patchRepository.patchUser(id, request, expected)
+                    .orElseThrow(UserException::userNotFound);
+        } catch (DataIntegrityViolationException e) {
+            throw ConstraintViolations.translate(e);
         }
-        if (request.getCurrency() != null) {
-            user.setCurrency(request.getCurrency());
+        User user = result.row();
+        if (!result.changed()) {
+            // The row was re-read under lock, so a version written by a concurrent patch fails here
+            ETags.checkPrecondition(expected, user.getId(), user.getVersion());
+            userUpdateSkippedCounter.increment();
+            log.info("User update skipped, nothing changed: {}", id);
+            return mapToResponse(user);
         }
 
-        user = userRepository.save(user);
+        userCache.evictOnCommit(user.getId(), user.getAuthId(), user.getEmail());
+        invalidationPublisher.publish(EntityType.USER, user.getId(), user.getVersion());
+        suggestionIndex.indexOnCommit(user);
         userUpdatedCounter.increment();
         
         log.info("User updated successfully: {}", id);
@@ -152,11 +394,14 @@ public class UserService {
     }
 
     @Transactional
-    public UserResponse updateStatus(UUID id, UpdateStatusRequest request, String changedBy, String ipAddress) {
+    public UserResponse updateStatus(UUID id, UpdateStatusRequest request, String changedBy, String ipAddress,
+                                     RowVersion expected) {
         log.info("Updating status for user: {} to {}", id, request.getStatus());
 
         User user = userRepository.findById(id)
                 .orElseThrow(UserException::userNotFound);
+        // A concurrent change after this check still fails on the entity's @Version at flush
+        ETags.checkPrecondition(expected, user.getId(), user.getVersion());
 
         UserStatus previousStatus = user.getStatus();
         
@@ -172,10 +417,16 @@ public class UserService {
                 .changedBy(changedBy)
                 .changedFromIp(ipAddress)
                 .build();
-        statusHistoryRepository.save(history);
+        if (statusHistoryWriteBehind != null) {
+            statusHistoryWriteBehind.record(history);
+        } else {
+            statusHistoryRepository.save(history);
+        }
 
         user.setStatus(request.getStatus());
-        user = userRepository.save(user);
+        user = userRepository.saveAndFlush(user);
+        userCache.evictOnCommit(user.getId(), user.getAuthId(), user.getEmail());
+        invalidationPublisher.publish(EntityType.USER, user.getId(), user.getVersion());
         statusChangedCounter.increment();
 
         log.info("User status updated from {} to {}", previousStatus, request.getStatus());
@@ -186,17 +437,60 @@ public class UserService {
     public void deleteUser(UUID id) {
         log.info("Deleting user with ID: {}", id);
 
-        if (!userRepository.existsById(id)) {
-            throw UserException.userNotFound();
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(UserException::userNotFound);
 
         statusHistoryRepository.deleteByUserId(id);
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCache.evictOnCommit(user.getId(), user.getAuthId(), user.getEmail());
+        profileCache.evictOnCommit(user.getId());
+        suggestionIndex.removeOnCommit(user.getId());
+        invalidationPublisher.publish(EntityType.USER, user.getId(), null);
+        invalidationPublisher.publish(EntityType.PROFILE, user.getId(), null);
         
         log.info("User deleted successfully: {}", id);
     }
 
-    private boolean isValidStatusTransition(UserStatus from, UserStatus to) {
+    /** The key of {@code user} that is already taken, after a conflict-tolerant insert skipped it. */
+    private UserException conflictOf(User user) {
+        if (!userRepository.findExistingAuthIds(List.of(user.getAuthId())).isEmpty()) {
+            return UserException.authIdAlreadyExists();
+        }
+        if (!userRepository.findExistingEmails(List.of(user.getEmail())).isEmpty()) {
+            return UserException.emailAlreadyExists();
+        }
+        // The phone number is the only other unique key
+        return UserException.phoneAlreadyExists();
+    }
+
+    private static KeysetCursor cursorOf(User user) {
+        return new KeysetCursor(user.getCreatedAt(), user.getId());
+    }
+
+    private static <T> Set<T> distinct(List<T> keys) {
+        if (keys == null) {
+            return Set.of();
+        }
+        Set<T> result = new LinkedHashSet<>(keys);
+        result.remove(null);
+        return result;
+    }
+
+    private User newUser(CreateUserRequest request) {
+        return User.builder()
+                .authId(request.getAuthId())
+                .email(request.getEmail())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .phoneNumber(request.getPhoneNumber())
+                .dateOfBirth(request.getDateOfBirth())
+                .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
+                .status(UserStatus.PENDING_VERIFICATION)
+                .accountNumber(accountNumberAllocator.next())
+                .build();
+    }
+
+    static boolean isValidStatusTransition(UserStatus from, UserStatus to) {
         if (from == to) return true;
         
         return switch (from) {
@@ -208,16 +502,7 @@ public class UserService {
         };
     }
 
-    private String generateAccountNumber() {
-        Random random = new Random();
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 10; i++) {
-            sb.append(random.nextInt(10));
-        }
-        return sb.toString();
-    }
-
-    private UserResponse mapToResponse(User user) {
+    static UserResponse mapToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
                 .authId(user.getAuthId())
@@ -233,6 +518,7 @@ public class UserService {
                 .currency(user.getCurrency())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
                 .build();
     }
 }
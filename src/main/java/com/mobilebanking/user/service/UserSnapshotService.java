@@ -0,0 +1,81 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.dto.StatusHistoryResponse;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import com.mobilebanking.user.dto.UserSnapshotResponse;
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.RowVersion;
+import com.mobilebanking.user.repository.RowVersionRepository;
+import com.mobilebanking.user.repository.RowVersionRepository.SnapshotVersion;
+import com.mobilebanking.user.repository.UserSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serves the app's startup screen: user, profile and recent status history from one query
+ * instead of three requests.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSnapshotService {
+
+    static final String USER = "user";
+    static final String PROFILE = "profile";
+    static final String STATUS_HISTORY = "statusHistory";
+
+    private static final List<String> SECTIONS = List.of(USER, PROFILE, STATUS_HISTORY);
+    private static final int MAX_HISTORY_SIZE = 50;
+
+    private final UserSnapshotRepository snapshotRepository;
+    private final RowVersionRepository versionRepository;
+
+    /**
+     * @param include     sections to return, any of {@code user}, {@code profile} and {@code statusHistory}
+     * @param historySize number of status changes to return when {@code statusHistory} is included
+     */
+    @Transactional(readOnly = true)
+    public UserSnapshotResponse getSnapshot(UUID id, Collection<String> include, int historySize) {
+        validate(include, historySize);
+        boolean includeProfile = include.contains(PROFILE);
+        boolean includeHistory = include.contains(STATUS_HISTORY);
+
+        UserSnapshotResponse snapshot = snapshotRepository
+                .findSnapshot(id, includeProfile, includeHistory ? historySize : 0)
+                .orElseThrow(UserException::userNotFound);
+
+        UserProfileResponse profile = snapshot.getProfile();
+        List<StatusHistoryResponse> history = snapshot.getStatusHistory();
+        SnapshotVersion version = new SnapshotVersion(Objects.requireNonNullElse(snapshot.getUser().getVersion(), 0L),
+                profile == null ? null : new RowVersion(profile.getId(), profile.getVersion()),
+                history == null || history.isEmpty() ? null : history.get(0).getId());
+        snapshot.setEtag(ETags.snapshot(id, version, includeProfile, includeHistory));
+        if (!include.contains(USER)) {
+            snapshot.setUser(null);
+        }
+        return snapshot;
+    }
+
+    /** Current entity tag of a snapshot, from versions alone, for answering {@code If-None-Match}. */
+    @Transactional(readOnly = true)
+    public String getSnapshotETag(UUID id, Collection<String> include, int historySize) {
+        validate(include, historySize);
+        SnapshotVersion version = versionRepository.findSnapshotVersion(id)
+                .orElseThrow(UserException::userNotFound);
+        return ETags.snapshot(id, version, include.contains(PROFILE), include.contains(STATUS_HISTORY));
+    }
+
+    private static void validate(Collection<String> include, int historySize) {
+        if (include.isEmpty() || !SECTIONS.containsAll(include)) {
+            throw UserException.invalidSearchParameters("Include must list one or more of " + SECTIONS);
+        }
+        if (include.contains(STATUS_HISTORY) && (historySize < 1 || historySize > MAX_HISTORY_SIZE)) {
+            throw UserException.invalidSearchParameters("History size must be between 1 and " + MAX_HISTORY_SIZE);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.cache.EntityChangedEvent;
+import com.mobilebanking.user.cache.EntityType;
+import com.mobilebanking.user.dto.UserSuggestionResponse;
+import com.mobilebanking.user.entity.User;
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.UserRepository;
+import com.mobilebanking.user.repository.UserSuggestionSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process prefix index for support-agent typeahead over first name, last name, full name,
+ * email and phone digits. Each indexed token is stored as {@code token + '\0' + userId} in a
+ * sorted skip list, so a prefix query is a range scan that stops after {@code limit} users.
+ * <p>
+ * Local writes are applied after commit; writes committed on other replicas arrive as
+ * {@link EntityChangedEvent}s and are re-read in batches. Entries carry the row version, so a
+ * stale read (a startup scan racing a commit) never replaces a newer entry. When invalidations may
+ * have been missed ({@link EntityChangedEvent#isAll()}), the table is rescanned and entries that no
+ * longer exist are dropped.
+ * <p>
+ * The index is bounded by an estimate of its heap footprint ({@code app.suggest.max-memory}),
+ * roughly 1 KB per user; users beyond the budget are not suggested.
+ */
+@Component
+@Slf4j
+public class UserSuggestionIndex implements SmartLifecycle {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final char SEPARATOR = '\0';
+    private static final UUID SCAN_START = new UUID(0L, 0L);
+
+    /** PostgreSQL orders uuid as unsigned bytes; {@link UUID#compareTo} compares signed longs. */
+    private static final Comparator<UUID> DATABASE_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    // Heap estimates with compressed oops and compact strings: a String with its byte[] is
+    // about 40 bytes plus one byte per Latin-1 character; a skip list node with its share of
+    // index nodes about 32 bytes
+    private static final int STRING_BYTES = 40;
+    private static final int ENTRY_BYTES = 48 + 32 + 32;
+    private static final int TOKEN_KEY_BYTES = STRING_BYTES + 1 + 36 + 32;
+
+    /** {@code seq} orders local writes, so a rescan can tell entries it did not see from newer ones. */
+    private record Entry(UUID id, String firstName, String lastName, String email, String phoneNumber,
+                         long version, long seq) {
+
+        Entry written(long seq) {
+            return new Entry(id, firstName, lastName, email, phoneNumber, version, seq);
+        }
+
+        UserSuggestionResponse toResponse() {
+            return UserSuggestionResponse.builder()
+                    .id(id)
+                    .fullName(firstName + " " + lastName)
+                    .email(email)
+                    .phoneNumber(phoneNumber)
+                    .build();
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int scanBatchSize;
+    private final Duration refreshInterval;
+
+    private final NavigableMap<String, Entry> tokens = new ConcurrentSkipListMap<>();
+    private final NavigableMap<UUID, Entry> entries = new ConcurrentSkipListMap<>(DATABASE_ORDER);
+    private final Set<UUID> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rescanRequested = new AtomicBoolean();
+    // Users deleted while a scan is running, which the scan may already have read
+    private final Set<UUID> removedDuringScan = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private long estimatedBytes;
+    private long writeSeq;
+    private boolean full;
+
+    private volatile boolean scanning;
+    private volatile boolean ready;
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public UserSuggestionIndex(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.suggest.enabled:true}") boolean enabled,
+            @Value("${app.suggest.max-memory:128MB}") DataSize maxMemory,
+            @Value("${app.suggest.scan-batch-size:5000}") int scanBatchSize,
+            @Value("${app.suggest.refresh-interval:PT1S}") Duration refreshInterval) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.maxBytes = maxMemory.toBytes();
+        this.scanBatchSize = scanBatchSize;
+        this.refreshInterval = refreshInterval;
+
+        Gauge.builder("user.suggest.index.users", entries, Map::size)
+                .description("Number of users in the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder("user.suggest.index.bytes", this, UserSuggestionIndex::getEstimatedBytes)
+                .description("Estimated heap used by the typeahead index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<UserSuggestionResponse> suggest(String query, int limit) {
+        if (!enabled || !ready) {
+            throw UserException.suggestionsUnavailable();
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> seen = new LinkedHashSet<>();
+        List<UserSuggestionResponse> suggestions = new ArrayList<>(limit);
+        for (Entry entry : tokens.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (seen.add(entry.id())) {
+                suggestions.add(entry.toResponse());
+                if (suggestions.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    public void indexOnCommit(User user) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(user.getId(), truncate(user.getFirstName()), truncate(user.getLastName()),
+                truncate(user.getEmail()), truncate(user.getPhoneNumber()), versionOf(user.getVersion()), 0L);
+        afterCommit(() -> put(entry, false));
+    }
+
+    public void removeOnCommit(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> remove(userId));
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || event.type() != EntityType.USER) {
+            return;
+        }
+        if (event.isAll()) {
+            rescanRequested.set(true);
+        } else {
+            pendingRefresh.add(event.id());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled && executor != null) {
+            executor.execute(() -> {
+                try {
+                    scan();
+                    ready = true;
+                } catch (RuntimeException e) {
+                    log.error("Failed to build typeahead index; suggestions stay unavailable", e);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-suggest-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::refreshPending,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Reads every user in id order and indexes it, then drops indexed users that the scan did not
+     * see in each id range it covered, unless they were written locally after the scan started.
+     */
+    private void scan() {
+        long started = System.nanoTime();
+        long scanStartSeq;
+        synchronized (this) {
+            scanStartSeq = writeSeq;
+            full = false;
+        }
+        removedDuringScan.clear();
+        scanning = true;
+        int removed = 0;
+        try {
+            UUID after = SCAN_START;
+            while (running) {
+                List<UserSuggestionSource> batch = userRepository
+                        .findSuggestionSourcesByIdGreaterThanOrderByIdAsc(after, Limit.of(scanBatchSize));
+                Set<UUID> seen = new HashSet<>(batch.size() * 2);
+                for (UserSuggestionSource source : batch) {
+                    seen.add(source.getId());
+                    put(toEntry(source), true);
+                }
+                boolean last = batch.size() < scanBatchSize;
+                NavigableMap<UUID, Entry> range = last
+                        ? entries.tailMap(after, false)
+                        : entries.subMap(after, false, batch.get(batch.size() - 1).getId(), true);
+                for (Entry entry : range.values()) {
+                    if (!seen.contains(entry.id()) && entry.seq() <= scanStartSeq && removeIfUnchanged(entry)) {
+                        removed++;
+                    }
+                }
+                if (last) {
+                    break;
+                }
+                after = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            scanning = false;
+            removedDuringScan.clear();
+        }
+        synchronized (this) {
+            if (full) {
+                log.warn("Typeahead index reached its memory budget of {} bytes; remaining users are not suggested",
+                        maxBytes);
+            }
+        }
+        log.info("Typeahead index scanned: {} users (~{} MB), {} stale entries removed, in {} ms",
+                entries.size(), getEstimatedBytes() / (1024 * 1024), removed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void refreshPending() {
+        if (!ready) {
+            return;
+        }
+        if (rescanRequested.getAndSet(false)) {
+            try {
+                scan();
+            } catch (RuntimeException e) {
+                rescanRequested.set(true);
+                log.warn("Failed to rescan typeahead index; retrying", e);
+                return;
+            }
+        }
+        if (pendingRefresh.isEmpty()) {
+            return;
+        }
+        try {
+            List<UUID> ids = new ArrayList<>(pendingRefresh);
+            pendingRefresh.removeAll(ids);
+
+            Set<UUID> missing = new LinkedHashSet<>(ids);
+            for (UserSuggestionSource source : userRepository.findSuggestionSourcesByIdIn(ids)) {
+                missing.remove(source.getId());
+                put(toEntry(source), false);
+            }
+            missing.forEach(this::remove);
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh typeahead index entries", e);
+        }
+    }
+
+    private synchronized void put(Entry entry, boolean scanned) {
+        if (scanned && removedDuringScan.contains(entry.id())) {
+            return;
+        }
+        Entry previous = entries.get(entry.id());
+        if (previous != null && previous.version() > entry.version()) {
+            return;
+        }
+        List<String> entryTokens = tokensOf(entry);
+        long bytes = footprint(entry, entryTokens);
+        if (previous == null && estimatedBytes + bytes > maxBytes) {
+            full = true;
+            return;
+        }
+        if (previous != null) {
+            List<String> previousTokens = tokensOf(previous);
+            previousTokens.forEach(token -> tokens.remove(key(token, previous.id())));
+            estimatedBytes -= footprint(previous, previousTokens);
+        }
+        Entry written = entry.written(++writeSeq);
+        entries.put(written.id(), written);
+        entryTokens.forEach(token -> tokens.put(key(token, written.id()), written));
+        estimatedBytes += bytes;
+    }
+
+    private synchronized void remove(UUID userId) {
+        if (scanning) {
+            removedDuringScan.add(userId);
+        }
+        Entry previous = entries.remove(userId);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    /** Removes {@code entry} unless it was rewritten since it was read. */
+    private synchronized boolean removeIfUnchanged(Entry entry) {
+        if (!entries.remove(entry.id(), entry)) {
+            return false;
+        }
+        unindex(entry);
+        return true;
+    }
+
+    private void unindex(Entry entry) {
+        List<String> entryTokens = tokensOf(entry);
+        entryTokens.forEach(token -> tokens.remove(key(token, entry.id())));
+        estimatedBytes -= footprint(entry, entryTokens);
+    }
+
+    private static long footprint(Entry entry, List<String> entryTokens) {
+        long bytes = ENTRY_BYTES + stringBytes(entry.firstName()) + stringBytes(entry.lastName())
+                + stringBytes(entry.email()) + stringBytes(entry.phoneNumber());
+        for (String token : entryTokens) {
+            bytes += TOKEN_KEY_BYTES + token.length();
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    private static long versionOf(Long version) {
+        return version == null ? 0L : version;
+    }
+
+    private static List<String> tokensOf(Entry entry) {
+        List<String> result = new ArrayList<>(5);
+        addToken(result, normalize(entry.firstName()));
+        addToken(result, normalize(entry.lastName()));
+        addToken(result, normalize(entry.firstName() + " " + entry.lastName()));
+        addToken(result, normalize(entry.email()));
+        if (entry.phoneNumber() != null) {
+            addToken(result, digits(entry.phoneNumber()));
+        }
+        return result;
+    }
+
+    private static void addToken(List<String> result, String token) {
+        if (!token.isEmpty() && !result.contains(token)) {
+            result.add(token);
+        }
+    }
+
+    private static String key(String token, UUID userId) {
+        return token + SEPARATOR + userId;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (!trimmed.isEmpty() && trimmed.chars().allMatch(c -> Character.isDigit(c) || c == '+' || c == ' ' || c == '-')) {
+            return digits(trimmed);
+        }
+        String normalized = trimmed.toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TOKEN_LENGTH ? normalized.substring(0, MAX_TOKEN_LENGTH) : normalized;
+    }
+
+    private static String digits(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_TOKEN_LENGTH ? value.substring(0, MAX_TOKEN_LENGTH) : value;
+    }
+
+    private static Entry toEntry(UserSuggestionSource source) {
+        return new Entry(source.getId(), truncate(source.getFirstName()), truncate(source.getLastName()),
+                truncate(source.getEmail()), truncate(source.getPhoneNumber()), versionOf(source.getVersion()), 0L);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
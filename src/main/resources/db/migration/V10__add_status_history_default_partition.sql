@@ -0,0 +1,8 @@
+-- User Service Database Schema
+-- Version: 1.8.0
+-- Description: Default partition for user_status_history
+-- Note: catches rows whose changed_at has no monthly partition (clock skew, a lapse in
+-- partition maintenance) so the insert, and with it the status change, does not fail.
+-- StatusHistoryPartitionMaintainer moves such rows into the monthly partition when it creates it.
+
+CREATE TABLE user_status_history_default PARTITION OF user_status_history DEFAULT;
@@ -0,0 +1,14 @@
+-- User Service Database Schema
+-- Version: 1.1.0
+-- Description: Trigram-indexed user search
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Normalised search document; kept in sync by Postgres on every insert/update
+ALTER TABLE users
+    ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+        lower(first_name || ' ' || last_name || ' ' || email)
+    ) STORED;
+
+-- Serves both substring (LIKE '%q%') and similarity (<%) predicates
+CREATE INDEX idx_users_search_text_trgm ON users USING gin (search_text gin_trgm_ops);
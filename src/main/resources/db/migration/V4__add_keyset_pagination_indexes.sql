@@ -0,0 +1,11 @@
+-- User Service Database Schema
+-- Version: 1.2.0
+-- Description: Composite indexes backing seek (keyset) pagination
+
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
+CREATE INDEX idx_users_status_created_at_id ON users(status, created_at, id);
+CREATE INDEX idx_user_status_history_user_changed_at ON user_status_history(user_id, changed_at DESC, id DESC);
+
+-- Leading columns of the composite indexes above
+DROP INDEX idx_users_status;
+DROP INDEX idx_user_status_history_user_id;
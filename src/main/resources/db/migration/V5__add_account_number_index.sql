@@ -0,0 +1,5 @@
+-- User Service Database Schema
+-- Version: 1.3.0
+-- Description: Index account numbers for multi-get lookups
+
+CREATE INDEX idx_users_account_number ON users(account_number);
@@ -0,0 +1,7 @@
+-- User Service Database Schema
+-- Version: 1.4.0
+-- Description: Enforce phone number uniqueness in the database
+-- Note: fails if duplicate phone numbers already exist; resolve them before deploying
+
+DROP INDEX idx_users_phone;
+CREATE UNIQUE INDEX idx_users_phone ON users(phone_number);
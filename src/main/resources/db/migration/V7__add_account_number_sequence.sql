@@ -0,0 +1,12 @@
+-- User Service Database Schema
+-- Version: 1.5.0
+-- Description: Sequence-backed, collision-free account numbers
+-- Note: fails if legacy random account numbers contain duplicates; resolve them before deploying
+
+-- Each nextval reserves a block of INCREMENT BY numbers that the service hands out in memory.
+-- New numbers are 11 digits plus a Luhn check digit, so they never clash with the
+-- 10-digit numbers issued before this migration.
+CREATE SEQUENCE account_number_seq START WITH 10000000000 INCREMENT BY 100;
+
+DROP INDEX idx_users_account_number;
+CREATE UNIQUE INDEX idx_users_account_number ON users(account_number);
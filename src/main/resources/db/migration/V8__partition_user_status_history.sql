@@ -0,0 +1,50 @@
+-- User Service Database Schema
+-- Version: 1.6.0
+-- Description: Range-partition user_status_history by month of changed_at
+-- Note: copies existing history into the new table under an exclusive lock; schedule accordingly.
+-- Partitions are named user_status_history_pYYYYMM; StatusHistoryPartitionMaintainer creates
+-- future ones and detaches or drops those past the retention period.
+
+ALTER TABLE user_status_history RENAME TO user_status_history_legacy;
+ALTER INDEX idx_user_status_history_user_changed_at RENAME TO idx_user_status_history_legacy_user_changed_at;
+ALTER INDEX idx_user_status_history_changed_at RENAME TO idx_user_status_history_legacy_changed_at;
+
+-- The partition key must be part of every unique constraint, so the primary key becomes (id, changed_at)
+CREATE TABLE user_status_history (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    previous_status VARCHAR(20) NOT NULL,
+    new_status VARCHAR(20) NOT NULL,
+    reason VARCHAR(500),
+    changed_by VARCHAR(100),
+    changed_from_ip VARCHAR(45),
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+-- One partition per month from the oldest existing row through three months ahead (changed_at is UTC)
+DO $$
+DECLARE
+    utc_now TIMESTAMP := now() AT TIME ZONE 'UTC';
+    month_start DATE := date_trunc('month',
+            LEAST(COALESCE((SELECT min(changed_at) FROM user_status_history_legacy), utc_now), utc_now))::date;
+    last_month DATE := date_trunc('month',
+            GREATEST(COALESCE((SELECT max(changed_at) FROM user_status_history_legacy), utc_now),
+                     utc_now + INTERVAL '3 months'))::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF user_status_history FOR VALUES FROM (%L) TO (%L)',
+                'user_status_history_p' || to_char(month_start, 'YYYYMM'),
+                month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Serves history by user, newest first; changed_at range filters are served by partition pruning
+CREATE INDEX idx_user_status_history_user_changed_at ON user_status_history(user_id, changed_at DESC, id DESC);
+
+INSERT INTO user_status_history (id, user_id, previous_status, new_status, reason, changed_by, changed_from_ip, changed_at)
+SELECT id, user_id, previous_status, new_status, reason, changed_by, changed_from_ip, changed_at
+FROM user_status_history_legacy;
+
+DROP TABLE user_status_history_legacy;
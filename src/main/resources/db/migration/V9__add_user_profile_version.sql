@@ -0,0 +1,5 @@
+-- User Service Database Schema
+-- Version: 1.7.0
+-- Description: Version column on user_profiles for ETags and If-Match optimistic concurrency
+
+ALTER TABLE user_profiles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,238 @@
+package com.mobilebanking.user.controller;
+
+import com.mobilebanking.user.dto.UserLookupRequest;
+import com.mobilebanking.user.dto.UserLookupResponse;
+import com.mobilebanking.user.dto.UserResponse;
+import com.mobilebanking.user.entity.KycStatus;
+import com.mobilebanking.user.entity.UserStatus;
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.grpc.v1.BatchGetUsersRequest;
+import com.mobilebanking.user.grpc.v1.BatchGetUsersResponse;
+import com.mobilebanking.user.grpc.v1.GetUserRequest;
+import com.mobilebanking.user.grpc.v1.User;
+import com.mobilebanking.user.grpc.v1.UserKey;
+import com.mobilebanking.user.grpc.v1.UserLookupServiceGrpc;
+import com.mobilebanking.user.service.UserService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserGrpcServiceTest {
+
+    private static final UUID ID = UUID.fromString("3d6f2a1b-5c4e-4f7a-9b8c-1d2e3f4a5b6c");
+    private static final UUID AUTH_ID = UUID.fromString("8a7b6c5d-4e3f-4a1b-8c2d-3e4f5a6b7c8d");
+
+    private final UserService userService = mock(UserService.class);
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new UserGrpcService(userService))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private static UserResponse user() {
+        return UserResponse.builder()
+                .id(ID)
+                .authId(AUTH_ID)
+                .email("ada@example.com")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .fullName("Ada Lovelace")
+                .status(UserStatus.ACTIVE)
+                .kycStatus(KycStatus.VERIFIED)
+                .currency("GBP")
+                .createdAt(LocalDateTime.of(2024, 3, 1, 8, 30))
+                .version(4L)
+                .build();
+    }
+
+    private static GetUserRequest byId(String id) {
+        return GetUserRequest.newBuilder().setKey(UserKey.newBuilder().setId(id)).build();
+    }
+
+    @Test
+    void getUserReturnsTheMappedUser() {
+        when(userService.getUserById(ID)).thenReturn(user());
+        when(userService.getUserByAuthId(AUTH_ID)).thenReturn(user());
+        UserLookupServiceGrpc.UserLookupServiceBlockingStub stub = UserLookupServiceGrpc.newBlockingStub(channel);
+
+        User byId = stub.getUser(byId(ID.toString()));
+        User byAuthId = stub.getUser(GetUserRequest.newBuilder()
+                .setKey(UserKey.newBuilder().setAuthId(AUTH_ID.toString())).build());
+
+        assertThat(byId).isEqualTo(byAuthId);
+        assertThat(byId.getId()).isEqualTo(ID.toString());
+        assertThat(byId.getFullName()).isEqualTo("Ada Lovelace");
+        assertThat(byId.getStatus()).isEqualTo(com.mobilebanking.user.grpc.v1.UserStatus.USER_STATUS_ACTIVE);
+        assertThat(byId.getKycStatus()).isEqualTo(com.mobilebanking.user.grpc.v1.KycStatus.KYC_STATUS_VERIFIED);
+        assertThat(byId.getCreatedAt().getSeconds()).isEqualTo(1709281800L);
+        assertThat(byId.hasUpdatedAt()).isFalse();
+        assertThat(byId.getPhoneNumber()).isEmpty();
+        assertThat(byId.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void serviceErrorsCarryTheirCodeInTheTrailer() {
+        when(userService.getUserById(ID)).thenThrow(UserException.userNotFound());
+        UserLookupServiceGrpc.UserLookupServiceBlockingStub stub = UserLookupServiceGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.getUser(byId(ID.toString())))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("User not found");
+                    assertThat(e.getTrailers().get(UserGrpcService.ERROR_CODE_KEY)).isEqualTo("USER_001");
+                });
+    }
+
+    @Test
+    void invalidKeysAndTransientFailuresMapToStatusCodes() {
+        when(userService.getUserById(ID)).thenThrow(new QueryTimeoutException("statement timeout"));
+        UserLookupServiceGrpc.UserLookupServiceBlockingStub stub = UserLookupServiceGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.getUser(byId("not-a-uuid")))
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThatThrownBy(() -> stub.getUser(GetUserRequest.getDefaultInstance()))
+                .extracting(e -> ((StatusRuntimeException) e).getStatus().getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThatThrownBy(() -> stub.getUser(byId(ID.toString())))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE);
+                    assertThat(e.getTrailers().get(UserGrpcService.ERROR_CODE_KEY)).isNull();
+                });
+    }
+
+    @Test
+    void batchGetUsersReadsTheNextRequestOnlyWhenTheClientTakesAResponse() throws Exception {
+        when(userService.lookupUsers(any(UserLookupRequest.class))).thenReturn(UserLookupResponse.builder()
+                .byId(Map.of(ID, user()))
+                .byAuthId(Map.of())
+                .byAccountNumber(Map.of())
+                .notFoundIds(List.of())
+                .notFoundAuthIds(List.of())
+                .notFoundAccountNumbers(List.of("000000000000"))
+                .build());
+        BlockingQueue<BatchGetUsersResponse> responses = new LinkedBlockingQueue<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        ClientCallStreamObserver<BatchGetUsersRequest>[] requests = new ClientCallStreamObserver[1];
+
+        UserLookupServiceGrpc.newStub(channel).batchGetUsers(new ClientResponseObserver<BatchGetUsersRequest, BatchGetUsersResponse>() {
+            @Override
+            public void beforeStart(ClientCallStreamObserver<BatchGetUsersRequest> requestStream) {
+                requests[0] = requestStream;
+                requestStream.disableAutoRequestWithInitial(0);
+            }
+
+            @Override
+            public void onNext(BatchGetUsersResponse response) {
+                responses.add(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        });
+        BatchGetUsersRequest request = BatchGetUsersRequest.newBuilder()
+                .addIds(ID.toString())
+                .addAccountNumbers("000000000000")
+                .build();
+        for (int i = 0; i < 10; i++) {
+            requests[0].onNext(request);
+        }
+
+        // Nothing is looked up until the client can take a response
+        verify(userService, after(200).never()).lookupUsers(any());
+
+        requests[0].request(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(responses.poll(5, TimeUnit.SECONDS)).isNotNull();
+        }
+        verify(userService, after(200).times(3)).lookupUsers(any());
+
+        requests[0].request(Integer.MAX_VALUE);
+        requests[0].onCompleted();
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(userService, timeout(1000).times(10)).lookupUsers(any());
+        assertThat(responses).hasSize(7).allSatisfy(response -> {
+            assertThat(response.getByIdMap()).containsOnlyKeys(ID.toString());
+            assertThat(response.getNotFoundAccountNumbersList()).containsExactly("000000000000");
+        });
+    }
+
+    @Test
+    void batchGetUsersRejectsOversizedMessages() {
+        BatchGetUsersRequest.Builder oversized = BatchGetUsersRequest.newBuilder();
+        for (int i = 0; i <= 2000; i++) {
+            oversized.addAccountNumbers(String.format("%012d", i));
+        }
+        BlockingQueue<Throwable> errors = new LinkedBlockingQueue<>();
+        StreamObserver<BatchGetUsersRequest> requests = UserLookupServiceGrpc.newStub(channel).batchGetUsers(new StreamObserver<>() {
+            @Override
+            public void onNext(BatchGetUsersResponse response) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        });
+        requests.onNext(oversized.build());
+
+        assertThat(errors).singleElement()
+                .extracting(t -> Status.fromThrowable(t).getCode())
+                .isEqualTo(Status.Code.INVALID_ARGUMENT);
+        verify(userService, never()).lookupUsers(any());
+    }
+}
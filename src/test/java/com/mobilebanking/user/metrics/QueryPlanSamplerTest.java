@@ -0,0 +1,39 @@
+package com.mobilebanking.user.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanSamplerTest {
+
+    @Test
+    void samplesPlainTableReads() {
+        for (String sql : List.of(
+                "select u1_0.id,u1_0.email from users u1_0 where u1_0.auth_id=?",
+                "  SELECT * FROM user_status_history h WHERE h.user_id = ? ORDER BY changed_at DESC LIMIT ?",
+                "SELECT u.id FROM users u LEFT JOIN LATERAL (SELECT 1 FROM user_profiles p) x ON true",
+                "select count(*) from public.users")) {
+            assertThat(QueryPlanSampler.isPlainTableRead(sql)).as(sql).isTrue();
+        }
+    }
+
+    @Test
+    void skipsStatementsWithSideEffectsOrNoTable() {
+        for (String sql : List.of(
+                "SELECT nextval('account_number_seq') AS block_start, s.increment_by AS block_size FROM pg_sequences s",
+                "SELECT pg_notify(?, ?)",
+                "SELECT txid_current()",
+                "SELECT 1",
+                "SELECT * FROM generate_series(1, 10)",
+                "SELECT pg_try_advisory_lock(42) FROM users",
+                "SELECT * FROM users WHERE id = ? FOR UPDATE",
+                "select * from users where id = ? for no key update",
+                "SELECT * INTO users_copy FROM users",
+                "UPDATE users SET email = ? WHERE id = ?",
+                "WITH updated AS (UPDATE users SET version = version + 1 RETURNING *) SELECT * FROM updated")) {
+            assertThat(QueryPlanSampler.isPlainTableRead(sql)).as(sql).isFalse();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mobilebanking.user.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartialUpdateTest {
+
+    private static final UUID ID = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-0a1b2c3d4e5f");
+    private static final RowMapper<String> MAPPER = (rs, rowNum) -> "row";
+
+    @Test
+    void updatesOnlySuppliedColumnsAndOnlyWhenOneDiffers() {
+        PartialUpdate update = PartialUpdate.of("users", "id", ID)
+                .set("first_name", "Ada")
+                .set("last_name", null)
+                .set("currency", "EUR")
+                .onChange("version = version + 1");
+
+        assertThat(update.updateSql()).isEqualTo("UPDATE users SET first_name = :first_name, currency = :currency, "
+                + "version = version + 1 WHERE id = :key "
+                + "AND (first_name IS DISTINCT FROM :first_name OR currency IS DISTINCT FROM :currency) "
+                + "RETURNING *, true AS changed");
+    }
+
+    @Test
+    void expectedValuesGuardOnlyTheUpdate() {
+        PartialUpdate update = PartialUpdate.of("user_profiles", "user_id", ID)
+                .set("city", "Lisbon")
+                .expect("id", ID)
+                .expect("version", 3L);
+
+        assertThat(update.updateSql()).endsWith("WHERE user_id = :key AND (city IS DISTINCT FROM :city) "
+                + "AND id = :expected_id AND version = :expected_version RETURNING *, true AS changed");
+        assertThat(update.currentRowSql()).isEqualTo(
+                "SELECT t.*, false AS changed FROM user_profiles t WHERE t.user_id = :key FOR UPDATE");
+    }
+
+    @Test
+    void returnsTheWrittenRowWithoutReadingAgain() {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(jdbcTemplate.query(startsWith("UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new PatchResult<>("row", true)));
+
+        Optional<PatchResult<String>> result = PartialUpdate.of("users", "id", ID)
+                .set("first_name", "Ada")
+                .execute(jdbcTemplate, MAPPER);
+
+        assertThat(result).contains(new PatchResult<>("row", true));
+        verify(jdbcTemplate, never()).query(startsWith("SELECT"), any(SqlParameterSource.class), any(RowMapper.class));
+    }
+
+    @Test
+    void noOpUpdateReturnsTheCurrentRowUnderALock() {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        PartialUpdate update = PartialUpdate.of("users", "id", ID).set("first_name", "Ada");
+        when(jdbcTemplate.query(startsWith("UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(eq(update.currentRowSql()), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new PatchResult<>("row", false)));
+
+        assertThat(update.execute(jdbcTemplate, MAPPER)).contains(new PatchResult<>("row", false));
+    }
+
+    @Test
+    void nothingSuppliedOnlyReadsTheRow() {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        PartialUpdate update = PartialUpdate.of("users", "id", ID).set("first_name", null);
+        when(jdbcTemplate.query(eq(update.currentRowSql()), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        assertThat(update.execute(jdbcTemplate, MAPPER)).isEmpty();
+        verify(jdbcTemplate, never()).query(startsWith("UPDATE"), any(SqlParameterSource.class), any(RowMapper.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.entity.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusHistoryBatchRepositoryTest extends PostgresTestSupport {
+
+    private StatusHistoryBatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StatusHistoryBatchRepository(jdbcTemplate);
+    }
+
+    @Test
+    void transactionStatusesReportCommittedAbortedAndRunningTransactions() throws Exception {
+        long committed = transactionTemplate.execute(status -> repository.currentTransactionId());
+        long aborted = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return repository.currentTransactionId();
+        });
+
+        long[] running = new long[1];
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            running[0] = repository.currentTransactionId();
+            synchronized (running) {
+                running.notifyAll();
+                try {
+                    running.wait(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }));
+        synchronized (running) {
+            holder.start();
+            running.wait(10_000);
+            Map<Long, String> statuses = repository.transactionStatuses(List.of(committed, aborted, running[0]));
+
+            assertThat(statuses).containsEntry(committed, "committed")
+                    .containsEntry(aborted, "aborted")
+                    .containsEntry(running[0], "in progress");
+            running.notifyAll();
+        }
+        holder.join();
+    }
+
+    @Test
+    void insertAllIsIdempotentAndSkipsDeletedUsers() {
+        UUID userId = insertUser();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        StatusHistoryRow kept = new StatusHistoryRow(UUID.randomUUID(), userId, UserStatus.ACTIVE,
+                UserStatus.SUSPENDED, "review", "ops", null, now, 1L);
+        StatusHistoryRow orphan = new StatusHistoryRow(UUID.randomUUID(), UUID.randomUUID(), UserStatus.ACTIVE,
+                UserStatus.CLOSED, null, "ops", null, now, 1L);
+
+        repository.insertAll(List.of(kept, orphan));
+        repository.insertAll(List.of(kept));
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM user_status_history WHERE id IN (?, ?)", UUID.class,
+                kept.id(), orphan.id())).containsExactly(kept.id());
+    }
+}
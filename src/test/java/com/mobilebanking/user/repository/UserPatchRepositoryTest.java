@@ -0,0 +1,110 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.UpdateUserRequest;
+import com.mobilebanking.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two concurrent patches of one user: the first holds its row lock until released, the second
+ * waits on it and must see the first one's committed row.
+ */
+class UserPatchRepositoryTest extends PostgresTestSupport {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private UserPatchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new UserPatchRepository(namedJdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void losingPatchWithoutIfMatchReturnsTheCommittedRow() throws Exception {
+        UUID id = insertUser();
+        UpdateUserRequest rename = UpdateUserRequest.builder().firstName("Grace").build();
+
+        PatchResult<User> loser = raceAgainstCommittedPatch(id, rename, () -> repository.patchUser(id, rename, null));
+
+        assertThat(loser.changed()).isFalse();
+        assertThat(loser.row().getFirstName()).isEqualTo("Grace");
+        assertThat(loser.row().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void ifMatchOnASupersededVersionSeesTheNewVersion() throws Exception {
+        UUID id = insertUser();
+        RowVersion read = new RowVersion(id, 0L);
+        UpdateUserRequest rename = UpdateUserRequest.builder().firstName("Grace").build();
+
+        PatchResult<User> loser = raceAgainstCommittedPatch(id, rename, () -> repository.patchUser(id, rename, read));
+
+        // Same values as the winner, so only the version tells the client its read was stale
+        assertThat(loser.changed()).isFalse();
+        assertThat(read.matches(loser.row().getId(), loser.row().getVersion())).isFalse();
+    }
+
+    private PatchResult<User> raceAgainstCommittedPatch(UUID id, UpdateUserRequest winnerRequest,
+                                                        PatchCall loserCall) throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> winner = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            repository.patchUser(id, winnerRequest, new RowVersion(id, 0L));
+            written.countDown();
+            await(release);
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<PatchResult<User>> loser = executor.submit(() ->
+                transactionTemplate.execute(status -> loserCall.call().orElseThrow()));
+        awaitLockWaiter();
+        release.countDown();
+
+        winner.get(10, TimeUnit.SECONDS);
+        return loser.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitLockWaiter() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Second patch never waited on the first one's row lock");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface PatchCall {
+        Optional<PatchResult<User>> call();
+    }
+}
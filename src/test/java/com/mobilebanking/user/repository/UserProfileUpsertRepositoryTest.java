@@ -0,0 +1,58 @@
+package com.mobilebanking.user.repository;
+
+import com.mobilebanking.user.dto.UserProfileRequest;
+import com.mobilebanking.user.dto.UserProfileResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileUpsertRepositoryTest extends PostgresTestSupport {
+
+    private UserProfileUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new UserProfileUpsertRepository(namedJdbcTemplate);
+    }
+
+    @Test
+    void upsertWritesOnlyWhenASuppliedValueDiffers() {
+        UUID userId = insertUser();
+        UserProfileRequest request = UserProfileRequest.builder().city("Lisbon").country("Portugal").build();
+
+        PatchResult<UserProfileResponse> created = repository.upsert(userId, request);
+        PatchResult<UserProfileResponse> repeated = repository.upsert(userId, request);
+        PatchResult<UserProfileResponse> partial = repository.upsert(userId,
+                UserProfileRequest.builder().city("Lisbon").build());
+
+        assertThat(created.changed()).isTrue();
+        assertThat(repeated.changed()).isFalse();
+        assertThat(partial.changed()).isFalse();
+        assertThat(repeated.row().getVersion()).isEqualTo(created.row().getVersion());
+        assertThat(repeated.row().getUpdatedAt()).isEqualTo(created.row().getUpdatedAt());
+        assertThat(repeated.row().getCountry()).isEqualTo("Portugal");
+
+        PatchResult<UserProfileResponse> moved = repository.upsert(userId,
+                UserProfileRequest.builder().city("Porto").build());
+
+        assertThat(moved.changed()).isTrue();
+        assertThat(moved.row().getVersion()).isEqualTo(created.row().getVersion() + 1);
+        assertThat(moved.row().getCity()).isEqualTo("Porto");
+        assertThat(moved.row().getCountry()).isEqualTo("Portugal");
+    }
+
+    @Test
+    void avatarUpsertSkipsAnUnchangedUrl() {
+        UUID userId = insertUser();
+
+        PatchResult<UserProfileResponse> first = repository.upsertAvatar(userId, "https://cdn.example.com/a.png");
+        PatchResult<UserProfileResponse> again = repository.upsertAvatar(userId, "https://cdn.example.com/a.png");
+
+        assertThat(first.changed()).isTrue();
+        assertThat(again.changed()).isFalse();
+        assertThat(again.row().getVersion()).isEqualTo(first.row().getVersion());
+    }
+}
@@ -0,0 +1,111 @@
+package com.mobilebanking.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountNumberAllocatorTest {
+
+    @Test
+    void luhnCheckDigitMatchesKnownValues() {
+        assertThat(AccountNumberAllocator.luhnCheckDigit("7992739871")).isEqualTo(3);
+        assertThat(AccountNumberAllocator.luhnCheckDigit("00000000000")).isZero();
+        assertThat(AccountNumberAllocator.luhnCheckDigit("00000000001")).isEqualTo(8);
+    }
+
+    @Test
+    void formatsTwelveDigitsThatPassLuhnValidation() {
+        for (long base : List.of(0L, 1L, 42L, 12_345_678_901L, 99_999_999_999L)) {
+            String number = AccountNumberAllocator.format(base);
+
+            assertThat(number).hasSize(AccountNumberAllocator.BASE_DIGITS + 1).containsOnlyDigits();
+            assertThat(Long.parseLong(number.substring(0, AccountNumberAllocator.BASE_DIGITS))).isEqualTo(base);
+            assertThat(isLuhnValid(number)).as(number).isTrue();
+        }
+    }
+
+    @Test
+    void servesBlocksInOrderAndReservesOnlyWhenExhausted() {
+        AtomicInteger reservations = new AtomicInteger();
+        AtomicLong sequence = new AtomicLong(1);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(() -> {
+            reservations.incrementAndGet();
+            return AccountNumberAllocator.Block.of(sequence.getAndAdd(3), 3);
+        });
+
+        for (long expected = 1; expected <= 7; expected++) {
+            assertThat(allocator.next()).isEqualTo(AccountNumberAllocator.format(expected));
+        }
+        assertThat(reservations).hasValue(3);
+    }
+
+    @Test
+    void concurrentCallersShareBlocksWithoutDuplicatesOrWaste() throws Exception {
+        int blockSize = 100;
+        int threads = 16;
+        int perThread = 2_000;
+        AtomicInteger reservations = new AtomicInteger();
+        AtomicLong sequence = new AtomicLong(1);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(() -> {
+            reservations.incrementAndGet();
+            // Widen the window in which other threads find the block exhausted
+            Thread.onSpinWait();
+            return AccountNumberAllocator.Block.of(sequence.getAndAdd(blockSize), blockSize);
+        });
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.next());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = threads * perThread;
+        assertThat(numbers).hasSize(total);
+        assertThat(reservations).hasValue(total / blockSize);
+    }
+
+    private static boolean isLuhnValid(String number) {
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int digit = number.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.exception.UserException;
+import com.mobilebanking.user.repository.RowVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ETagsTest {
+
+    private static final UUID ID = UUID.fromString("0b7e6a52-3f4d-4c1e-9a8b-7c6d5e4f3a2b");
+
+    @Test
+    void parseIfMatchReadsTheTagsThisServiceIssues() {
+        assertThat(ETags.parseIfMatch(ETags.of(ID, 7L))).isEqualTo(new RowVersion(ID, 7));
+        assertThat(ETags.parseIfMatch("  " + ETags.of(ID, null) + " ")).isEqualTo(new RowVersion(ID, 0));
+    }
+
+    @Test
+    void parseIfMatchTreatsAbsentAndWildcardAsUnconditional() {
+        assertThat(ETags.parseIfMatch(null)).isNull();
+        assertThat(ETags.parseIfMatch(" ")).isNull();
+        assertThat(ETags.parseIfMatch("*")).isNull();
+    }
+
+    @Test
+    void parseIfMatchRejectsAnythingElse() {
+        for (String ifMatch : new String[] {
+                "W/" + ETags.of(ID, 1L),                 // weak tags never match If-Match
+                ETags.of(ID, 1L) + ", " + ETags.of(ID, 2L),
+                ID + "-1",                               // unquoted
+                "\"" + ID + "\"",                        // no version
+                "\"" + ID + "-x\"",
+                "\"not-a-uuid-1\"",
+                "\""}) {
+            assertThatThrownBy(() -> ETags.parseIfMatch(ifMatch)).as(ifMatch)
+                    .isInstanceOf(UserException.class)
+                    .extracting("errorCode").isEqualTo(UserException.preconditionFailed().getErrorCode());
+        }
+    }
+
+    @Test
+    void matchesAnyComparesWeaklyAgainstEveryListedTag() {
+        String etag = ETags.of(ID, 3L);
+
+        assertThat(ETags.matchesAny(etag, etag)).isTrue();
+        assertThat(ETags.matchesAny("W/" + etag, etag)).isTrue();
+        assertThat(ETags.matchesAny(ETags.of(ID, 2L) + " ,  " + etag, etag)).isTrue();
+        assertThat(ETags.matchesAny("*", etag)).isTrue();
+        assertThat(ETags.matchesAny(ETags.of(ID, 2L), etag)).isFalse();
+        assertThat(ETags.matchesAny(ETags.of(UUID.randomUUID(), 3L), etag)).isFalse();
+        assertThat(ETags.matchesAny(null, etag)).isFalse();
+    }
+
+    @Test
+    void checkPreconditionFailsOnAnotherVersionOrRow() {
+        RowVersion expected = new RowVersion(ID, 3);
+
+        assertThatCode(() -> ETags.checkPrecondition(null, ID, 9L)).doesNotThrowAnyException();
+        assertThatCode(() -> ETags.checkPrecondition(expected, ID, 3L)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> ETags.checkPrecondition(expected, ID, 4L)).isInstanceOf(UserException.class);
+        assertThatThrownBy(() -> ETags.checkPrecondition(expected, UUID.randomUUID(), 3L))
+                .isInstanceOf(UserException.class);
+        assertThatThrownBy(() -> ETags.checkPrecondition(expected, ID, null)).isInstanceOf(UserException.class);
+    }
+}
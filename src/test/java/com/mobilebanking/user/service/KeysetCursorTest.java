@@ -0,0 +1,91 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.dto.CursorPage;
+import com.mobilebanking.user.exception.UserException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeThenDecodeRoundTrips() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 5, 123_456_000), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        // LocalDateTime.toString drops zero seconds and nanos; parsing must still accept it
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 1, 1, 0, 0), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        for (String token : List.of("not base64!", encode("no-separator"), encode("yesterday|" + UUID.randomUUID()),
+                encode("2024-01-01T00:00|not-a-uuid"), "")) {
+            assertThatThrownBy(() -> KeysetCursor.decode(token))
+                    .as(token)
+                    .isInstanceOfSatisfying(UserException.class,
+                            e -> assertThat(e.getErrorCode()).isEqualTo("USER_011"));
+        }
+    }
+
+    @Test
+    void validatesPageSize() {
+        KeysetCursor.validateSize(1);
+        KeysetCursor.validateSize(KeysetCursor.MAX_PAGE_SIZE);
+
+        assertThatThrownBy(() -> KeysetCursor.validateSize(0)).isInstanceOf(UserException.class);
+        assertThatThrownBy(() -> KeysetCursor.validateSize(KeysetCursor.MAX_PAGE_SIZE + 1)).isInstanceOf(UserException.class);
+    }
+
+    @Test
+    void pageWithExtraRowHasMoreAndPointsAtLastReturnedRow() {
+        List<KeysetCursor> rows = rows(4);
+
+        CursorPage<UUID> page = KeysetCursor.page(rows, 3, Function.identity(), KeysetCursor::id);
+
+        assertThat(page.getContent()).containsExactly(rows.get(0).id(), rows.get(1).id(), rows.get(2).id());
+        assertThat(page.getSize()).isEqualTo(3);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(KeysetCursor.decode(page.getNextCursor())).isEqualTo(rows.get(2));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<KeysetCursor> rows = rows(3);
+
+        CursorPage<UUID> page = KeysetCursor.page(rows, 3, Function.identity(), KeysetCursor::id);
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static List<KeysetCursor> rows(int count) {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        return IntStream.range(0, count)
+                .mapToObj(i -> new KeysetCursor(start.minusMinutes(i), UUID.randomUUID()))
+                .toList();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package com.mobilebanking.user.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mobilebanking.user.entity.UserStatus;
+import com.mobilebanking.user.repository.StatusHistoryRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusHistoryJournalTest {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    static StatusHistoryRow row(long transactionId) {
+        return new StatusHistoryRow(UUID.randomUUID(), UUID.randomUUID(), UserStatus.ACTIVE, UserStatus.SUSPENDED,
+                "fraud review", "ops", "10.0.0.1", LocalDateTime.of(2024, 5, 1, 12, 0), transactionId);
+    }
+
+    @Test
+    void replayKeepsUnflushedRowsWithTheirState() throws Exception {
+        StatusHistoryRow committed = row(1);
+        StatusHistoryRow prepared = row(2);
+        StatusHistoryRow aborted = row(3);
+        StatusHistoryRow flushed = row(4);
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            for (StatusHistoryRow row : List.of(committed, prepared, aborted, flushed)) {
+                journal.appendPrepared(row);
+            }
+            journal.appendCommitted(committed.id());
+            journal.appendAborted(aborted.id());
+            journal.appendCommitted(flushed.id());
+            journal.appendFlushed(List.of(flushed));
+        }
+
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            Map<UUID, StatusHistoryJournal.Entry> entries = journal.replay();
+
+            assertThat(entries.keySet()).containsExactly(committed.id(), prepared.id());
+            assertThat(entries.get(committed.id()))
+                    .isEqualTo(new StatusHistoryJournal.Entry(committed, StatusHistoryJournal.State.COMMITTED));
+            assertThat(entries.get(prepared.id()))
+                    .isEqualTo(new StatusHistoryJournal.Entry(prepared, StatusHistoryJournal.State.PREPARED));
+        }
+    }
+
+    @Test
+    void tornLastRecordIsSkippedAndLaterAppendsStartOnANewLine() throws Exception {
+        StatusHistoryRow before = row(1);
+        StatusHistoryRow after = row(2);
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            journal.appendPrepared(before);
+        }
+        Files.writeString(directory.resolve(StatusHistoryJournal.FILE_NAME), "P {\"id\":\"4f1c",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            journal.appendPrepared(after);
+            journal.appendCommitted(after.id());
+        }
+
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            Map<UUID, StatusHistoryJournal.Entry> entries = journal.replay();
+
+            assertThat(entries.keySet()).containsExactly(before.id(), after.id());
+            assertThat(entries.get(after.id()).state()).isEqualTo(StatusHistoryJournal.State.COMMITTED);
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyOutstandingEntries() throws Exception {
+        StatusHistoryRow committed = row(1);
+        StatusHistoryRow prepared = row(2);
+        StatusHistoryRow flushed = row(3);
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            for (StatusHistoryRow row : List.of(committed, prepared, flushed)) {
+                journal.appendPrepared(row);
+                journal.appendCommitted(row.id());
+            }
+            journal.appendFlushed(List.of(flushed));
+            long before = journal.size();
+
+            journal.compact(() -> List.of(
+                    new StatusHistoryJournal.Entry(committed, StatusHistoryJournal.State.COMMITTED),
+                    new StatusHistoryJournal.Entry(prepared, StatusHistoryJournal.State.PREPARED)));
+
+            assertThat(journal.size()).isLessThan(before)
+                    .isEqualTo(Files.size(directory.resolve(StatusHistoryJournal.FILE_NAME)));
+            journal.appendFlushed(List.of(committed));
+        }
+
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            assertThat(journal.replay()).containsOnlyKeys(prepared.id());
+        }
+    }
+
+    @Test
+    void deadLetterRecordsRowAndError() throws Exception {
+        StatusHistoryRow rejected = row(7);
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            journal.appendDeadLetter(rejected, "value too long for type character varying(255)");
+        }
+
+        List<String> lines = Files.readAllLines(directory.resolve(StatusHistoryJournal.DEAD_LETTER_FILE_NAME));
+        assertThat(lines).hasSize(1);
+        JsonNode record = OBJECT_MAPPER.readTree(lines.get(0));
+        assertThat(OBJECT_MAPPER.treeToValue(record.get("row"), StatusHistoryRow.class)).isEqualTo(rejected);
+        assertThat(record.get("error").asText()).isEqualTo("value too long for type character varying(255)");
+    }
+}
@@ -0,0 +1,47 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.repository.PostgresTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusHistoryPartitionMaintainerTest extends PostgresTestSupport {
+
+    @Test
+    void rowsWithoutAMonthlyPartitionWaitInTheDefaultPartitionUntilTheirMonthIsCreated() {
+        YearMonth future = YearMonth.now().plusYears(5);
+        UUID userId = insertUser();
+        UUID historyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO user_status_history (id, user_id, previous_status, new_status, changed_at) "
+                + "VALUES (?, ?, 'ACTIVE', 'SUSPENDED', ?)", historyId, userId, future.atDay(15).atTime(12, 0));
+
+        assertThat(partitionOf(historyId)).isEqualTo(StatusHistoryPartitionMaintainer.DEFAULT_PARTITION);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StatusHistoryPartitionMaintainer maintainer = new StatusHistoryPartitionMaintainer(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), meterRegistry, Duration.ofHours(6), 1, 0, "detach");
+        maintainer.maintain(future);
+
+        assertThat(partitionOf(historyId)).isEqualTo(StatusHistoryPartitionMaintainer.partitionName(future));
+        assertThat(meterRegistry.get("status.history.partitions.default.rows").gauge().value()).isZero();
+
+        // Later rows for the month go straight to the new partition
+        UUID laterId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO user_status_history (id, user_id, previous_status, new_status, changed_at) "
+                + "VALUES (?, ?, 'SUSPENDED', 'ACTIVE', ?)", laterId, userId, LocalDateTime.of(
+                future.getYear(), future.getMonth(), 20, 9, 0));
+        assertThat(partitionOf(laterId)).isEqualTo(StatusHistoryPartitionMaintainer.partitionName(future));
+    }
+
+    private static String partitionOf(UUID historyId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM user_status_history WHERE id = ?",
+                String.class, historyId);
+    }
+}
@@ -0,0 +1,157 @@
+package com.mobilebanking.user.service;
+
+import com.mobilebanking.user.repository.StatusHistoryBatchRepository;
+import com.mobilebanking.user.repository.StatusHistoryRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.mobilebanking.user.service.StatusHistoryJournalTest.OBJECT_MAPPER;
+import static com.mobilebanking.user.service.StatusHistoryJournalTest.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatusHistoryWriteBehindTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeBatchRepository repository = new FakeBatchRepository();
+
+    private StatusHistoryWriteBehind writeBehind() {
+        // A long interval leaves flushing to stop(), which drains the queue once
+        return new StatusHistoryWriteBehind(repository, OBJECT_MAPPER, meterRegistry, directory.toString(),
+                Duration.ofHours(1), 500, DataSize.ofMegabytes(16));
+    }
+
+    private void journal(StatusHistoryRow... prepared) throws Exception {
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            for (StatusHistoryRow row : prepared) {
+                journal.appendPrepared(row);
+            }
+        }
+    }
+
+    private Map<UUID, StatusHistoryJournal.Entry> replay() throws Exception {
+        try (StatusHistoryJournal journal = StatusHistoryJournal.open(directory, OBJECT_MAPPER)) {
+            return journal.replay();
+        }
+    }
+
+    @Test
+    void recoveryResolvesRowsWithoutOutcomeFromTransactionStatus() throws Exception {
+        StatusHistoryRow committed = row(10);
+        StatusHistoryRow aborted = row(11);
+        StatusHistoryRow running = row(12);
+        StatusHistoryRow forgotten = row(13);
+        journal(committed, aborted, running, forgotten);
+        repository.statuses.put(10L, "committed");
+        repository.statuses.put(11L, "aborted");
+        repository.statuses.put(12L, "in progress");
+
+        StatusHistoryWriteBehind writeBehind = writeBehind();
+        writeBehind.start();
+        writeBehind.stop();
+
+        // An unknown outcome keeps the row rather than risk losing a committed change
+        assertThat(repository.inserted).containsExactlyInAnyOrder(committed, forgotten);
+        assertThat(replay()).containsOnlyKeys(running.id());
+        assertThat(replay().get(running.id()).state()).isEqualTo(StatusHistoryJournal.State.PREPARED);
+    }
+
+    @Test
+    void rejectedRowIsDeadLetteredWithoutBlockingTheRest() throws Exception {
+        StatusHistoryRow first = row(20);
+        StatusHistoryRow poison = row(21);
+        StatusHistoryRow last = row(22);
+        journal(first, poison, last);
+        repository.statuses.put(20L, "committed");
+        repository.statuses.put(21L, "committed");
+        repository.statuses.put(22L, "committed");
+        repository.poison = poison;
+
+        StatusHistoryWriteBehind writeBehind = writeBehind();
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(repository.inserted).containsExactlyInAnyOrder(first, last);
+        assertThat(replay()).isEmpty();
+        assertThat(Files.readAllLines(directory.resolve(StatusHistoryJournal.DEAD_LETTER_FILE_NAME)))
+                .singleElement().asString().contains(poison.id().toString(), "rejected");
+        assertThat(meterRegistry.counter("status.history.writebehind.deadlettered").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("status.history.writebehind.flushed").count()).isEqualTo(3);
+    }
+
+    @Test
+    void transientFailureKeepsRowsForTheNextFlush() throws Exception {
+        StatusHistoryRow row = row(30);
+        journal(row);
+        repository.statuses.put(30L, "committed");
+        repository.unavailable = true;
+
+        StatusHistoryWriteBehind writeBehind = writeBehind();
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(repository.inserted).isEmpty();
+        assertThat(replay()).containsOnlyKeys(row.id());
+        assertThat(Files.exists(directory.resolve(StatusHistoryJournal.DEAD_LETTER_FILE_NAME))).isFalse();
+    }
+
+    @Test
+    void refusesAJournalDirectoryThatIsNotAnAbsolutePath() {
+        for (String journalDir : List.of("", "data/status-history")) {
+            assertThatThrownBy(() -> new StatusHistoryWriteBehind(repository, OBJECT_MAPPER, meterRegistry,
+                    journalDir, Duration.ofHours(1), 500, DataSize.ofMegabytes(16)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("journal-dir");
+        }
+    }
+
+    /** Accepts every row but {@code poison}, failing the whole statement when it is included. */
+    private static final class FakeBatchRepository extends StatusHistoryBatchRepository {
+
+        final Map<Long, String> statuses = new HashMap<>();
+        final List<StatusHistoryRow> inserted = new ArrayList<>();
+        StatusHistoryRow poison;
+        boolean unavailable;
+
+        FakeBatchRepository() {
+            super(null);
+        }
+
+        @Override
+        public int insertAll(List<StatusHistoryRow> rows) {
+            if (unavailable) {
+                throw new QueryTimeoutException("canceling statement due to statement timeout");
+            }
+            if (rows.contains(poison)) {
+                throw new DataIntegrityViolationException("insert rejected",
+                        new IllegalArgumentException("rejected: value too long"));
+            }
+            inserted.addAll(rows);
+            return rows.size();
+        }
+
+        @Override
+        public Map<Long, String> transactionStatuses(Collection<Long> transactionIds) {
+            Map<Long, String> result = new HashMap<>();
+            transactionIds.forEach(id -> result.put(id, statuses.get(id)));
+            return result;
+        }
+    }
+}